@@ -1,9 +1,12 @@
 package rougelike;
 
+import javafx.application.Platform;
 import javafx.scene.layout.Region;
 import rougelike.game.Game;
+import rougelike.game.entities.ImageDatabase;
 import rougelike.menu.LossMenu.LossController;
 import rougelike.menu.communitymenu.CommunityMenuController;
+import rougelike.menu.loadingmenu.LoadingController;
 import rougelike.menu.loginmenu.LoginMenuController;
 import rougelike.menu.mainmenu.MainMenuController;
 import rougelike.menu.settingsmenu.SettingsMenuController;
@@ -20,12 +23,29 @@ public class Controller {
         this.view = new View(
                 model,
                 game.getView(),
-                new MainMenuController(model, game::startGame).getView(),
+                new MainMenuController(model, this::startGameWhenLoaded).getView(),
                 new LoginMenuController(model).getView(),
                 new CommunityMenuController(model).getView(),
                 new SettingsMenuController(model).getView(),
                 new VictoryController(model).getView(),
-                new LossController(model).getView());
+                new LossController(model).getView(),
+                new LoadingController(model, ImageDatabase.getAssets().progressProperty()).getView());
+    }
+
+    /**
+     * Start the game, showing the loading screen first if the game assets are
+     * still being decoded in the background.
+     */
+    private void startGameWhenLoaded() {
+        if (ImageDatabase.whenReady().isDone()) {
+            game.startGame();
+            return;
+        }
+        model.activeMenuProperty().set(GuiState.LOADING);
+        ImageDatabase.whenReady().thenRun(() -> Platform.runLater(() -> {
+            model.activeMenuProperty().set(GuiState.GAME);
+            game.startGame();
+        }));
     }
 
     public Region getView() {
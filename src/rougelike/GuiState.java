@@ -7,5 +7,6 @@ public enum GuiState {
     GAME,
     VICTORY,
     LOSS,
-    LOGINMENU
+    LOGINMENU,
+    LOADING
 }
@@ -19,12 +19,14 @@ import rougelike.networking.Client;
 import javafx.scene.image.Image;
 
 public class Model {
+    private static final int BACKGROUND_PREVIEW_SIZE = 64;
+
     private final Client client = new Client();
     private final StringProperty selectedDungeon = new SimpleStringProperty("Dungeon 1");
     private final ObjectProperty<GuiState> activeMenuProperty = new SimpleObjectProperty<>(GuiState.MAINMENU);
     private final ObjectProperty<Background> backgroundProperty = new SimpleObjectProperty<>(
             new Background(new BackgroundImage(
-                    new Image("file:assets/backgrounds/background4.png"),
+                    new Image("file:assets/backgrounds/background4.png", true),
                     BackgroundRepeat.NO_REPEAT,
                     BackgroundRepeat.NO_REPEAT,
                     BackgroundPosition.DEFAULT,
@@ -39,7 +41,10 @@ public class Model {
         if (files != null) {
             Arrays.sort(files); // Sort files by name first
             for (File file : files) {
-                availableBackgrounds.add(new Image(file.toURI().toString()));
+                // Only small previews are kept for the list; the full image is
+                // decoded when a background is chosen
+                availableBackgrounds.add(new Image(file.toURI().toString(), BACKGROUND_PREVIEW_SIZE,
+                        BACKGROUND_PREVIEW_SIZE, true, true, true));
             }
         }
     }
@@ -78,7 +83,14 @@ public class Model {
         return availableBackgrounds;
     }
 
+    /**
+     * Show a background, decoding it at full size if it is one of the
+     * previews of {@link #getAvailableBackgrounds()}.
+     */
     public void setBackgroundImage(Image image) {
+        if (image.getRequestedWidth() > 0 && image.getUrl() != null) {
+            image = new Image(image.getUrl(), true);
+        }
         backgroundProperty.set(new Background(new BackgroundImage(
                 image,
                 BackgroundRepeat.NO_REPEAT,
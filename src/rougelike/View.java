@@ -13,11 +13,12 @@ public class View {
         private Region VICT;
         private Region LOSS;
         private Region loginMenu;
+        private Region loadingMenu;
 
         // Region game,
         public View(Model model,
                         Region game, Region mainMenu, Region loginMenu, Region communityMenu, Region settingsMenu,
-                        Region VICT, Region LOSS) {
+                        Region VICT, Region LOSS, Region loadingMenu) {
                 this.model = model;
                 this.game = game;
                 this.mainMenu = mainMenu;
@@ -26,12 +27,13 @@ public class View {
                 this.settingsMenu = settingsMenu;
                 this.VICT = VICT;
                 this.LOSS = LOSS;
+                this.loadingMenu = loadingMenu;
 
         }
 
         public Region build() {
                 StackPane stackPane = new StackPane();
-                stackPane.getChildren().addAll(game, mainMenu, communityMenu, settingsMenu, VICT, loginMenu, LOSS);
+                stackPane.getChildren().addAll(game, mainMenu, communityMenu, settingsMenu, VICT, loginMenu, LOSS, loadingMenu);
 
                 game.visibleProperty().bind(Bindings.createBooleanBinding(
                                 () -> model.activeMenuProperty().get() == GuiState.GAME,
@@ -54,6 +56,9 @@ public class View {
                 loginMenu.visibleProperty().bind(Bindings.createBooleanBinding(
                                 () -> model.activeMenuProperty().get() == GuiState.LOGINMENU,
                                 model.activeMenuProperty()));
+                loadingMenu.visibleProperty().bind(Bindings.createBooleanBinding(
+                                () -> model.activeMenuProperty().get() == GuiState.LOADING,
+                                model.activeMenuProperty()));
                 stackPane.backgroundProperty().bind(model.backgroundProperty());
                 return stackPane;
         }
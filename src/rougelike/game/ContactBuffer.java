@@ -0,0 +1,47 @@
+package rougelike.game;
+
+import java.util.Arrays;
+
+import rougelike.game.entities.Entity;
+import rougelike.game.entities.GameElement;
+
+/**
+ * Growable list of contact pairs found by one worker during the detect phase
+ * of a tick. Kept as two parallel arrays so no objects are created per contact,
+ * and reused every tick.
+ */
+class ContactBuffer {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private Entity[] movers = new Entity[INITIAL_CAPACITY];
+    private GameElement[] elements = new GameElement[INITIAL_CAPACITY];
+    private int size;
+
+    void add(Entity mover, GameElement element) {
+        if (size == movers.length) {
+            movers = Arrays.copyOf(movers, size * 2);
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        movers[size] = mover;
+        elements[size] = element;
+        size++;
+    }
+
+    Entity getMover(int index) {
+        return movers[index];
+    }
+
+    GameElement getElement(int index) {
+        return elements[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(movers, 0, size, null);
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,107 @@
+package rougelike.game;
+
+import javafx.scene.image.Image;
+import rougelike.game.entities.Enemy;
+import rougelike.game.entities.Entity;
+import rougelike.game.entities.Exit;
+import rougelike.game.entities.ImageDatabase;
+import rougelike.game.entities.Ladder;
+import rougelike.game.entities.Player;
+import rougelike.game.entities.Projectile;
+import rougelike.game.entities.Well;
+
+/**
+ * The entities a dungeon layout can contain, by tile code.
+ *
+ * Each prototype resolves its images and stats once when the registry is
+ * built, so loading a level only indexes an array per cell and creates the
+ * entity, instead of looking its images up again for every tile.
+ */
+public class EntityPrototypes {
+    private static final int CODE_LIMIT = 128;
+
+    /**
+     * Creates a fresh entity of one kind at a tile.
+     */
+    @FunctionalInterface
+    public interface Prototype {
+        Entity create(double positionX, double positionY, double tileWidth, double tileHeight);
+    }
+
+    private final Prototype[] prototypes = new Prototype[CODE_LIMIT];
+
+    /**
+     * Register the prototype of a tile code, replacing an earlier one.
+     *
+     * @throws IllegalArgumentException if the code is not ASCII or the
+     *                                  prototype is null
+     */
+    public void register(char code, Prototype prototype) {
+        if (code >= CODE_LIMIT) {
+            throw new IllegalArgumentException("Tile code out of range: " + (int) code);
+        }
+        if (prototype == null) {
+            throw new IllegalArgumentException("Prototype cannot be null");
+        }
+        prototypes[code] = prototype;
+    }
+
+    /**
+     * @return true if entities can be created for the code
+     */
+    public boolean contains(char code) {
+        return code < CODE_LIMIT && prototypes[code] != null;
+    }
+
+    /**
+     * Create the entity of a tile code.
+     *
+     * @throws IllegalArgumentException if no prototype is registered for the
+     *                                  code
+     */
+    public Entity create(char code, double positionX, double positionY, double tileWidth, double tileHeight) {
+        if (!contains(code)) {
+            throw new IllegalArgumentException("Invalid character in dungeon file: " + code);
+        }
+        return prototypes[code].create(positionX, positionY, tileWidth, tileHeight);
+    }
+
+    /**
+     * Build the prototypes of the standard dungeon tiles from the images
+     * currently in the {@link ImageDatabase}.
+     */
+    public static EntityPrototypes standard() {
+        EntityPrototypes registry = new EntityPrototypes();
+
+        Image playerImage = ImageDatabase.getImage('P');
+        Image[] idleFrames = ImageDatabase.getAnimationFrames('P');
+        Image[] movingFrames = ImageDatabase.getAnimationFrames('R');
+        registry.register('P', (x, y, width, height) ->
+                new Player(x, y, width, height, playerImage, idleFrames, movingFrames, 100, 10));
+
+        Image ladderImage = ImageDatabase.getImage('L');
+        registry.register('L', (x, y, width, height) -> new Ladder(x, y, width, height, ladderImage));
+
+        Image[] enemyFrames = ImageDatabase.getAnimationFrames('E');
+        if (enemyFrames != null) {
+            registry.register('E', (x, y, width, height) ->
+                    new Enemy(x, y, width, height, enemyFrames, 50, 5, 0.05, 10000.0, 0.2));
+        } else {
+            // Without frames an enemy tile has always been loaded as a ladder
+            Image enemyImage = ImageDatabase.getImage('E');
+            registry.register('E', (x, y, width, height) -> new Ladder(x, y, width, height, enemyImage));
+        }
+
+        Image[] wellFrames = ImageDatabase.getAnimationFrames('w');
+        registry.register('w', (x, y, width, height) -> new Well(x, y, width, height, wellFrames, 10, 0.2));
+
+        Image projectileImage = ImageDatabase.getImage('p');
+        registry.register('p', (x, y, width, height) ->
+                new Projectile(x, y, width, height, projectileImage, y, width, height, 10));
+
+        Image exitImage = ImageDatabase.getImage('e');
+        registry.register('e', (x, y, width, height) -> new Exit(x, y, width, height, exitImage));
+
+        return registry;
+    }
+}
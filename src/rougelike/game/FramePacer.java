@@ -0,0 +1,118 @@
+package rougelike.game;
+
+import static rougelike.game.GameConstants.*;
+
+/**
+ * Decides on which timer pulses the game view is redrawn.
+ *
+ * The simulation runs on every pulse through the {@link SimulationClock};
+ * rendering only runs every {@code renderStride} pulses. The pacer keeps a
+ * moving average of the measured frame time and, while it exceeds the budget,
+ * first drops the effect layer and then raises the stride, one step per
+ * adjustment interval. Once frames are well under budget again it undoes the
+ * same steps in reverse order.
+ *
+ * Pulses on which nothing changed on screen are skipped by the caller and do
+ * not count as rendered frames.
+ */
+public class FramePacer {
+    private final double budgetMillis;
+    private final int maxRenderStride;
+    private int renderStride = 1;
+    private boolean effectsEnabled = true;
+    private int pulsesSinceRender;
+    private int framesSinceAdjust;
+    private double averageFrameMillis;
+    private boolean measured;
+
+    public FramePacer(double budgetMillis, int maxRenderStride) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Frame budget must be positive");
+        }
+        if (maxRenderStride <= 0) {
+            throw new IllegalArgumentException("Render stride limit must be positive");
+        }
+        this.budgetMillis = budgetMillis;
+        this.maxRenderStride = maxRenderStride;
+    }
+
+    /**
+     * Count a timer pulse.
+     *
+     * @return true if enough pulses passed since the last rendered frame for
+     *         the current render rate
+     */
+    public boolean isRenderDue() {
+        pulsesSinceRender++;
+        return pulsesSinceRender >= renderStride;
+    }
+
+    /**
+     * Report a pulse on which a frame was rendered.
+     *
+     * @param frameMillis The time the whole pulse took, simulation included.
+     */
+    public void frameRendered(double frameMillis) {
+        pulsesSinceRender = 0;
+        if (!measured) {
+            averageFrameMillis = frameMillis;
+            measured = true;
+        } else {
+            averageFrameMillis += FRAME_PACING_SMOOTHING * (frameMillis - averageFrameMillis);
+        }
+        if (++framesSinceAdjust < FRAME_PACING_ADJUST_INTERVAL) {
+            return;
+        }
+        if (averageFrameMillis > budgetMillis) {
+            degrade();
+        } else if (averageFrameMillis < budgetMillis * FRAME_PACING_RECOVERY_RATIO) {
+            recover();
+        }
+    }
+
+    private void degrade() {
+        if (effectsEnabled) {
+            effectsEnabled = false;
+        } else if (renderStride < maxRenderStride) {
+            renderStride++;
+        } else {
+            return;
+        }
+        framesSinceAdjust = 0;
+    }
+
+    private void recover() {
+        if (renderStride > 1) {
+            renderStride--;
+        } else if (!effectsEnabled) {
+            effectsEnabled = true;
+        } else {
+            return;
+        }
+        framesSinceAdjust = 0;
+    }
+
+    /**
+     * @return The number of timer pulses per rendered frame.
+     */
+    public int getRenderStride() {
+        return renderStride;
+    }
+
+    public boolean isEffectsEnabled() {
+        return effectsEnabled;
+    }
+
+    public double getAverageFrameMillis() {
+        return averageFrameMillis;
+    }
+
+    public void reset() {
+        renderStride = 1;
+        effectsEnabled = true;
+        pulsesSinceRender = 0;
+        framesSinceAdjust = 0;
+        averageFrameMillis = 0;
+        measured = false;
+    }
+}
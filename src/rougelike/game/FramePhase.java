@@ -0,0 +1,24 @@
+package rougelike.game;
+
+/**
+ * The timed parts of a frame, in the order they run.
+ */
+public enum FramePhase {
+    MOVEMENT("movement"),
+    COLLISIONS("collisions"),
+    GAME_STATE("game state"),
+    RENDER_FLOOR("render floor"),
+    RENDER_ENTITIES("render entities"),
+    RENDER_STATUS_BAR("render status bar"),
+    RENDER_ANIMATIONS("render animations");
+
+    private final String label;
+
+    FramePhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
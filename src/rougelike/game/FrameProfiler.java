@@ -0,0 +1,173 @@
+package rougelike.game;
+
+import static rougelike.game.GameConstants.*;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Collects how long each {@link FramePhase} takes.
+ *
+ * Callers wrap a phase in {@code long start = profiler.start();} and
+ * {@code profiler.stop(phase, start);}, which costs two {@link System#nanoTime()}
+ * calls and a histogram increment. The histograms cover a rolling window: when
+ * a CSV file is configured the window is appended to it and cleared every
+ * {@value GameConstants#PROFILE_DUMP_INTERVAL_SECONDS} seconds, otherwise it
+ * keeps growing until {@link #reset()}.
+ *
+ * Must be used from the thread that drives the frames.
+ */
+public class FrameProfiler {
+    private static final String CSV_HEADER = "timestamp_ms,phase,count,p50_us,p99_us,max_us";
+
+    private final Map<FramePhase, PhaseHistogram> histograms = new EnumMap<>(FramePhase.class);
+    private final String csvPath;
+    private long windowStartNanos = -1;
+    private boolean csvHeaderWritten;
+    private boolean overlayVisible;
+
+    /**
+     * @param csvPath The file the windows are appended to, or null to disable
+     *                the CSV dump
+     */
+    public FrameProfiler(String csvPath) {
+        this.csvPath = csvPath;
+        for (FramePhase phase : FramePhase.values()) {
+            histograms.put(phase, new PhaseHistogram());
+        }
+    }
+
+    /**
+     * @return The start time to pass to {@link #stop}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the time since {@code startNanos} for a phase.
+     */
+    public void stop(FramePhase phase, long startNanos) {
+        histograms.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    public PhaseHistogram getHistogram(FramePhase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Called once per frame. Writes and clears the window when the dump
+     * interval has passed.
+     *
+     * @param nowNanos The current time in nanoseconds
+     */
+    public void endFrame(long nowNanos) {
+        if (csvPath == null) {
+            return;
+        }
+        if (windowStartNanos < 0) {
+            windowStartNanos = nowNanos;
+            return;
+        }
+        if (nowNanos - windowStartNanos >= (long) (PROFILE_DUMP_INTERVAL_SECONDS * MILLIS_TO_SECONDS) * NANOS_TO_MILLIS) {
+            dumpCsv();
+            reset();
+            windowStartNanos = nowNanos;
+        }
+    }
+
+    /**
+     * Append the current window to the CSV file, one line per phase.
+     */
+    public void dumpCsv() {
+        if (csvPath == null) {
+            return;
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(csvPath, true))) {
+            if (!csvHeaderWritten) {
+                writer.println(CSV_HEADER);
+                csvHeaderWritten = true;
+            }
+            long timestamp = System.currentTimeMillis();
+            for (FramePhase phase : FramePhase.values()) {
+                PhaseHistogram histogram = histograms.get(phase);
+                writer.printf(Locale.ROOT, "%d,%s,%d,%.1f,%.1f,%.1f%n", timestamp, phase.getLabel(), histogram.getCount(),
+                        toMicros(histogram.getPercentile(50)), toMicros(histogram.getPercentile(99)),
+                        toMicros(histogram.getMax()));
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write frame profile to " + csvPath + ": " + e.getMessage());
+        }
+    }
+
+    public void reset() {
+        for (PhaseHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    /**
+     * Draw p50/p99/max of every phase in the top left corner, if the overlay
+     * is visible.
+     */
+    public void renderOverlay(GraphicsContext gc) {
+        if (!overlayVisible) {
+            return;
+        }
+        FramePhase[] phases = FramePhase.values();
+        gc.setFill(Color.rgb(0, 0, 0, 0.7));
+        gc.fillRect(PROFILE_OVERLAY_X, PROFILE_OVERLAY_Y, PROFILE_OVERLAY_WIDTH,
+                (phases.length + 2) * PROFILE_OVERLAY_LINE_HEIGHT);
+
+        gc.setFill(Color.LIME);
+        gc.setFont(Font.font("Monospaced", FontWeight.NORMAL, PROFILE_OVERLAY_FONT_SIZE));
+        double y = PROFILE_OVERLAY_Y + PROFILE_OVERLAY_LINE_HEIGHT;
+        gc.fillText(String.format("%-18s %8s %8s %8s", "phase (us)", "p50", "p99", "max"),
+                PROFILE_OVERLAY_X + 5, y);
+        for (FramePhase phase : phases) {
+            y += PROFILE_OVERLAY_LINE_HEIGHT;
+            PhaseHistogram histogram = histograms.get(phase);
+            gc.fillText(String.format("%-18s %8.1f %8.1f %8.1f", phase.getLabel(),
+                    toMicros(histogram.getPercentile(50)), toMicros(histogram.getPercentile(99)),
+                    toMicros(histogram.getMax())), PROFILE_OVERLAY_X + 5, y);
+        }
+    }
+
+    /**
+     * @return One line per phase with p50/p99/max in microseconds
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        for (FramePhase phase : FramePhase.values()) {
+            PhaseHistogram histogram = histograms.get(phase);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            builder.append(String.format("%-18s p50 %8.1f us  p99 %8.1f us  max %8.1f us%n", phase.getLabel(),
+                    toMicros(histogram.getPercentile(50)), toMicros(histogram.getPercentile(99)),
+                    toMicros(histogram.getMax())));
+        }
+        return builder.toString();
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,104 @@
+package rougelike.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rougelike.game.entities.Enemy;
+import rougelike.game.entities.Entity;
+import rougelike.game.entities.GameElement;
+import rougelike.game.entities.Player;
+import rougelike.game.entities.Projectile;
+import rougelike.game.entities.Well;
+
+/**
+ * Read-only view of the entities of one tick, partitioned by kind.
+ *
+ * A frame view is built once by {@link GameModel#getFrameView()} whenever the
+ * entity lists changed, and then shared by every phase of the tick and by the
+ * renderer. The lists never change after construction; the entities in them
+ * are still mutable.
+ */
+public class FrameView {
+    private final Player player;
+    private final List<Entity> floorEntities;
+    private final List<Entity> entities;
+    private final List<GameElement> gameElements;
+    private final List<Projectile> projectiles;
+    private final List<Enemy> enemies;
+    private final List<Well> wells;
+
+    FrameView(Player player, List<Entity> floorSource, List<Entity> entitySource) {
+        List<Entity> floor = new ArrayList<>(floorSource.size());
+        List<Entity> all = new ArrayList<>(entitySource.size());
+        List<GameElement> elements = new ArrayList<>(entitySource.size());
+        List<Projectile> projectileList = new ArrayList<>();
+        List<Enemy> enemyList = new ArrayList<>();
+        List<Well> wellList = new ArrayList<>();
+
+        for (Entity entity : floorSource) {
+            if (entity != null) {
+                floor.add(entity);
+            }
+        }
+        for (Entity entity : entitySource) {
+            if (entity == null) {
+                continue;
+            }
+            all.add(entity);
+            if (entity instanceof GameElement) {
+                elements.add((GameElement) entity);
+            }
+            if (entity instanceof Projectile) {
+                projectileList.add((Projectile) entity);
+            } else if (entity instanceof Enemy) {
+                enemyList.add((Enemy) entity);
+            } else if (entity instanceof Well) {
+                wellList.add((Well) entity);
+            }
+        }
+
+        this.player = player;
+        this.floorEntities = Collections.unmodifiableList(floor);
+        this.entities = Collections.unmodifiableList(all);
+        this.gameElements = Collections.unmodifiableList(elements);
+        this.projectiles = Collections.unmodifiableList(projectileList);
+        this.enemies = Collections.unmodifiableList(enemyList);
+        this.wells = Collections.unmodifiableList(wellList);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public List<Entity> getFloorEntities() {
+        return floorEntities;
+    }
+
+    /**
+     * @return All non-floor entities, in insertion order. Does not include the
+     *         player.
+     */
+    public List<Entity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return The entities that can be collided and interacted with.
+     */
+    public List<GameElement> getGameElements() {
+        return gameElements;
+    }
+
+    public List<Projectile> getProjectiles() {
+        return projectiles;
+    }
+
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+
+    public List<Well> getWells() {
+        return wells;
+    }
+}
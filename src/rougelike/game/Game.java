@@ -1,63 +1,90 @@
 package rougelike.game;
 
-import rougelike.game.entities.CollisionDetection;
 import rougelike.game.entities.Enemy;
 import rougelike.game.entities.Entity;
-import rougelike.game.entities.GameElement;
-import rougelike.game.entities.InteractionResult;
+import rougelike.game.entities.TileMap;
 import static rougelike.game.GameConstants.*;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.geometry.Pos;
 import javafx.scene.layout.Region;
-import javafx.scene.layout.VBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import rougelike.Global;
 import rougelike.GuiState;
 import rougelike.game.graphics.AnimationContainer;
 import rougelike.game.graphics.Animatable;
+import rougelike.game.graphics.Camera;
+import rougelike.game.graphics.DirtyRegionTracker;
 import rougelike.game.graphics.ExplosionAnimation;
+import rougelike.game.graphics.ExplosionPool;
+import rougelike.game.graphics.RenderLayer;
+import rougelike.game.graphics.RenderQueue;
 import rougelike.Model;
 import rougelike.game.entities.Player;
-import rougelike.game.entities.Projectile;
-import rougelike.game.entities.Well;
-import rougelike.game.graphics.ImageUtils;
-
-public class Game {
-    private GraphicsContext gc;
+import rougelike.game.entities.ImageDatabase;
+
+/**
+ * JavaFX front end of the game.
+ *
+ * Owns the canvas layers, input handling and the frame timer, and renders the
+ * state of a {@link SimulationEngine}, which does all of the simulation work.
+ *
+ * The view is a stack of {@link RenderLayer}s: the static floor, the dynamic
+ * entities, effects such as explosions and the profiler overlay, and the
+ * status bar. Each layer is only redrawn when its content changed.
+ *
+ * Entities live in world coordinates. A {@link Camera} follows the player and
+ * only what lies inside its viewport is drawn.
+ *
+ * The simulation steps on every timer pulse, but a {@link FramePacer} decides
+ * whether the view is drawn: pulses on which nothing on screen changed are
+ * skipped, and under load the render rate is lowered and explosions dropped.
+ */
+public class Game implements SimulationListener {
     private Model model;
     private GameModel gameModel;
-    private Loader loader;
-    private ArrayList<InteractionResult> interactionResults;
-    private ExecutorService executorService;
+    private SimulationEngine engine;
 
-    Canvas canvas;
+    private final RenderLayer staticLayer = new RenderLayer(Global.WINDOW_WIDTH, Global.GAME_AREA_HEIGHT);
+    private final RenderLayer dynamicLayer = new RenderLayer(Global.WINDOW_WIDTH, Global.GAME_AREA_HEIGHT);
+    private final RenderLayer effectsLayer = new RenderLayer(Global.WINDOW_WIDTH, Global.GAME_AREA_HEIGHT);
+    Canvas canvas = dynamicLayer.getCanvas();
     private AnimationTimer gameLoop;
     private boolean gameOver = false;
-    private int level;
-    private AnimationContainer<Animatable> animationContainer = new AnimationContainer<>();
+    private final AnimationContainer<Animatable> animationContainer = new AnimationContainer<>();
+    private final ExplosionPool explosionPool = new ExplosionPool(EXPLOSION_DURATION,
+            ImageDatabase.getExplosionFrames(), EXPLOSION_FRAME_DURATION);
+    private final SimulationClock simulationClock = new SimulationClock(SIMULATION_STEP_MILLIS, MAX_CATCH_UP_STEPS);
+    private final FramePacer framePacer = new FramePacer(FRAME_BUDGET_MILLIS, MAX_RENDER_STRIDE);
+    private final FrameProfiler profiler = new FrameProfiler(PlatformUtils.getProfileCsvPath());
+    private final DirtyRegionTracker dirtyRegions = new DirtyRegionTracker();
+    private final StatusBar statusBar = new StatusBar();
+    private final Camera camera = new Camera(Global.WINDOW_WIDTH, Global.GAME_AREA_HEIGHT);
+    private final List<Entity> visibleEntities = new ArrayList<>();
+    private final RenderQueue renderQueue = new RenderQueue();
+    private Image lastStaticLayer;
+    private int lastFloorVersion = -1;
+    private boolean effectsDrawn;
+    private double pendingEffectMillis;
 
     public Game(Model model) {
         this.model = model;
         this.gameModel = new GameModel();
-        this.loader = new Loader(model, this.gameModel);
-        this.interactionResults = new ArrayList<>();
-        this.canvas = new Canvas(Global.WINDOW_HEIGHT, Global.WINDOW_WIDTH);
-        this.gc = canvas.getGraphicsContext2D();
-        this.level = STARTING_LEVEL;
-        this.animationContainer = new AnimationContainer<>();
+        this.engine = new SimulationEngine(gameModel, new Loader(model, gameModel), this);
+        this.engine.setProfiler(profiler);
+        this.animationContainer.setRecycler(animation -> {
+            if (animation instanceof ExplosionAnimation) {
+                explosionPool.release((ExplosionAnimation) animation);
+            }
+        });
 
         initializeKeyBindings(canvas);
         initializeGameLoop();
@@ -66,6 +93,10 @@ public class Game {
     private void initializeKeyBindings(Canvas canvas) {
         canvas.setFocusTraversable(true);
         canvas.setOnKeyPressed(evt -> {
+            if (evt.getCode() == KeyCode.F3) {
+                profiler.toggleOverlay();
+                return;
+            }
             if (gameOver)
                 return;
 
@@ -75,14 +106,14 @@ public class Game {
                 case W -> gameModel.getPlayer().moveUp();
                 case S -> gameModel.getPlayer().moveDown();
                 case SPACE -> gameModel.addEntity(gameModel.getPlayer().attack());
-                default -> {  
+                default -> {
                 }
             }
         });
 
         canvas.setOnKeyReleased(evt -> {
             if (gameOver)
-                return; 
+                return;
 
             switch (evt.getCode()) {
                 case A -> gameModel.getPlayer().stopMovingLeft();
@@ -97,460 +128,382 @@ public class Game {
 
     private void initializeGameLoop() {
         gameLoop = new AnimationTimer() {
-            long lastNanoTime = 0;
-            boolean firstFrame = true;
-
             public void handle(long currentNanoTime) {
                 if (gameOver) {
-                    return; 
+                    return;
                 }
-                if (firstFrame) {
-                    lastNanoTime = currentNanoTime;
-                    firstFrame = false;
+                long pulseStart = System.nanoTime();
+                int steps = simulationClock.advance(currentNanoTime);
+                for (int i = 0; i < steps && engine.isRunning(); i++) {
+                    engine.tick(simulationClock.getStepMillis());
                 }
-                long timeElapsedMilli = (currentNanoTime - lastNanoTime) / NANOS_TO_MILLIS;
-                lastNanoTime = currentNanoTime;
-
-                updateMovement(timeElapsedMilli);
-                processCollisions();
-                updateGameState();
-                renderGame(timeElapsedMilli);
+                pendingEffectMillis += simulationClock.getLastFrameMillis();
+                if (!gameOver && framePacer.isRenderDue()
+                        && renderGame(simulationClock.getAlpha(), pendingEffectMillis)) {
+                    pendingEffectMillis = 0;
+                    framePacer.frameRendered((System.nanoTime() - pulseStart) / (double) NANOS_TO_MILLIS);
+                }
+                profiler.endFrame(currentNanoTime);
             }
         };
     }
 
-    private void updateMovement(long timeElapsedMilli) {
-        List<Future<?>> movementFutures = new ArrayList<>();
-        movementFutures.add(executorService.submit(() -> gameModel.getPlayer().move(timeElapsedMilli)));
-        movementFutures.add(executorService.submit(() -> projectiles(timeElapsedMilli)));
-        movementFutures.add(executorService.submit(() -> enemies(timeElapsedMilli)));
-        movementFutures.add(executorService.submit(() -> wells(timeElapsedMilli)));
-
-        // Wait for all movement updates to complete
-        for (Future<?> future : movementFutures) {
-            try {
-                future.get(); 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println(MOVEMENT_UPDATE_INTERRUPTED + ": " + e.getMessage());
-            } catch (ExecutionException e) {
-                System.err.println(MOVEMENT_UPDATE_FAILED + ": " + e.getCause());
-            }
+    /**
+     * Render the current frame, unless nothing on screen changed since the
+     * last one.
+     *
+     * @param alpha            How far the frame lies between the previous and the
+     *                         current tick, used to interpolate entity positions.
+     * @param frameElapsedMilli The real time elapsed since the last rendered frame.
+     * @return true if anything was drawn
+     */
+    private boolean renderGame(double alpha, double frameElapsedMilli) {
+        FrameView frame = gameModel.getFrameView();
+        Player player = frame.getPlayer();
+        player.setRenderAlpha(alpha);
+        if (camera.follow(player.getRenderX() + player.getWidth() / 2, player.getRenderY() + player.getHeight() / 2,
+                gameModel.getWorldWidth(), gameModel.getWorldHeight())) {
+            staticLayer.invalidate();
+            dynamicLayer.invalidate();
         }
-    }
-
-    private void processCollisions() {
-        playerCollisionCheck();
-        enemyCollisionCheck();
-    }
-
-    private void updateGameState() {
-        processInteractionResults();
-        removeDeadEntities();
-
-        if (gameModel.getPlayer().isDead()) {
-            stopGame();
+        if (gameModel.getStaticLayer() != lastStaticLayer || gameModel.getFloorVersion() != lastFloorVersion) {
+            staticLayer.invalidate();
+            // The entities of the old level are gone too
+            dynamicLayer.invalidate();
         }
-    }
-
-    private void renderGame(long timeElapsedMilli) {
-        renderFloor();
-        renderEntities();
-        renderStatusBar();
-        animationContainer.renderAnimations(gc, timeElapsedMilli / MILLIS_TO_SECONDS);
-    }
-
-    public void startGame() {
-        resetGame(); 
-        if (executorService == null || executorService.isShutdown()) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        if (!framePacer.isEffectsEnabled() && !animationContainer.isEmpty()) {
+            animationContainer.clear();
+        }
+        statusBar.bind(player);
+        collectVisibleEntities(frame, alpha);
+        trackDirtyRegions(player);
+
+        boolean hasEffects = !animationContainer.isEmpty() || profiler.isOverlayVisible() || effectsDrawn;
+        if (!staticLayer.isInvalid() && !dynamicLayer.isInvalid() && dirtyRegions.getDirtyCount() == 0
+                && !statusBar.isInvalid() && !effectsLayer.isInvalid() && !hasEffects) {
+            return false;
         }
-        initializeGameLoop();
-        loader.loadDungeon(level);
-        gameLoop.start(); // Start the game loop
-    }
 
-    private void resetGame() {
-        gameOver = false; 
-        level = STARTING_LEVEL; 
-        gameModel = new GameModel(); 
-        interactionResults.clear(); 
-        loader = new Loader(model, gameModel); 
-    }
+        long start = profiler.start();
+        renderStaticLayer();
+        profiler.stop(FramePhase.RENDER_FLOOR, start);
 
-        /**
-     * Stop the game.
-     * 
-     * This method will stop the game loop and set the game over flag to true.
-     */
-    private void stopGame() {
-        System.out.println("That's all folks!");
-        gameLoop.stop();
-        gameOver = true;
-        model.activeMenuProperty().set(GuiState.LOSS);
-    }
-
-        /**
-     * Method to be called when the player has won the game.
-     * 
-     * This method will stop the game loop and display a victory message.
-     */
-    private void winGame() {
-        System.out.println("Congratulations! You have successfully exited the dungeon.");
-        gameLoop.stop();
-        gameOver = true;
-        model.activeMenuProperty().set(GuiState.VICTORY);
-        shutdownExecutorService();
-    }
+        start = profiler.start();
+        renderDynamicLayer(player);
+        profiler.stop(FramePhase.RENDER_ENTITIES, start);
 
+        start = profiler.start();
+        statusBar.render();
+        profiler.stop(FramePhase.RENDER_STATUS_BAR, start);
 
+        start = profiler.start();
+        renderEffectsLayer(frameElapsedMilli);
+        profiler.stop(FramePhase.RENDER_ANIMATIONS, start);
+        return true;
+    }
 
     /**
-     * Move the projectiles in the game.
-     * 
-     * This method will move the projectiles in the game. The projectiles will move
-     * in the direction they were fired.
-     * 
-     * @param timeElapsedMilli The time elapsed in milliseconds since the last
-     *                         frame.
+     * Find the entities near the viewport through the spatial hash, so the
+     * cost of a frame depends on what is on screen rather than on the size of
+     * the level. Projectiles are not in the hash and are few, so they are
+     * checked one by one.
      */
-    private void projectiles(long timeElapsedMilli) {
-        List<Entity> entitySnapshot = createEntitySnapshot();
-        for (Entity entity : entitySnapshot) {
-            if (entity instanceof Projectile) {
-                ((Projectile) entity).updatePosition(timeElapsedMilli);
+    private void collectVisibleEntities(FrameView frame, double alpha) {
+        visibleEntities.clear();
+        // Interpolated positions lag the hash by up to one tick
+        gameModel.getSpatialHash().queryRect(camera.getX() - TILE_SIZE, camera.getY() - TILE_SIZE,
+                camera.getViewportWidth() + 2 * TILE_SIZE, camera.getViewportHeight() + 2 * TILE_SIZE,
+                visibleEntities);
+        for (Entity projectile : frame.getProjectiles()) {
+            visibleEntities.add(projectile);
+        }
+        int kept = 0;
+        for (int i = 0; i < visibleEntities.size(); i++) {
+            Entity entity = visibleEntities.get(i);
+            entity.setRenderAlpha(alpha);
+            if (camera.isVisible(entity.getRenderX(), entity.getRenderY(), entity.getWidth(), entity.getHeight())) {
+                visibleEntities.set(kept++, entity);
             }
         }
+        visibleEntities.subList(kept, visibleEntities.size()).clear();
     }
 
     /**
-     * Move the enemies in the game.
-     * 
-     * This method will move the enemies in the game. The enemies will move towards
-     * the player's position.
-     * 
-     * @param timeElapsedMilli The time elapsed in milliseconds since the last
-     *                         frame.
+     * Redraw the floor only after the level changed or the camera moved.
      */
-    private void enemies(long timeElapsedMilli) {
-        List<Entity> entitySnapshot = createEntitySnapshot();
-        for (Entity entity : entitySnapshot) {
-            if (entity instanceof Enemy) {
-                Enemy enemy = (Enemy) entity;
-                enemy.move(timeElapsedMilli, gameModel.getPlayer().getPositionX(), gameModel.getPlayer().getPositionY());
-                enemy.update(timeElapsedMilli / MILLIS_TO_SECONDS); 
-            }
-        }
-    }
-
-    private void wells(long timeElapsedMilli) {
-        List<Entity> entitySnapshot = createEntitySnapshot();
-        for (Entity entity : entitySnapshot) {
-            if (entity instanceof Well) {
-                ((Well) entity).update(timeElapsedMilli / MILLIS_TO_SECONDS); 
-            }
+    private void renderStaticLayer() {
+        if (!staticLayer.isInvalid()) {
+            return;
         }
+        renderFloor();
+        lastStaticLayer = gameModel.getStaticLayer();
+        lastFloorVersion = gameModel.getFloorVersion();
+        staticLayer.markValid();
     }
-    
 
     /**
-     * Check for collisions between the player and other entities.
-     * Check for collisions between the enemy and other entities.
-     * 
-     * This method will check for collisions between the player and other entities
-     * in the game. If a collision is detected, the collision will be processed.
+     * Erase and redraw the entities that moved or changed frame. The whole
+     * layer is redrawn when it was invalidated or when so much changed that
+     * patching would cost more than redrawing.
      */
-    private void playerCollisionCheck() {
-        // Create a snapshot of entities to avoid concurrent modification
-        List<Entity> entitySnapshot = createEntitySnapshot();
-
-        // Divide entities into chunks for parallel processing
-        int numThreads = Math.min(MAX_COLLISION_THREADS, entitySnapshot.size()); 
-        int chunkSize = Math.max(1, entitySnapshot.size() / numThreads);
-        
-        List<Future<List<InteractionResult>>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < entitySnapshot.size(); i += chunkSize) {
-            int end = Math.min(i + chunkSize, entitySnapshot.size());
-            List<Entity> chunk = entitySnapshot.subList(i, end);
-            
-            futures.add(executorService.submit(() -> {
-                List<InteractionResult> results = new ArrayList<>();
-                for (Entity entity : chunk) {
-                    if (!(entity instanceof GameElement)) {
-                        continue; 
-                    }
-
-                    if (!(CollisionDetection.Aabb(gameModel.getPlayer(), entity))) {
-                        continue; 
-                    }
-
-                    GameElement gameElement = (GameElement) entity;
-
-                    InteractionResult result = gameElement.interact(gameModel.getPlayer());
-                    if (result != null) {
-                        results.add(result);
-                    }
-
-                    if (gameElement.isOccupying()) {
-                        CollisionDetection.resolveCollision(gameModel.getPlayer(), gameElement);
-                    }
-                }
-                return results;
-            }));
+    private void renderDynamicLayer(Player player) {
+        if (dirtyRegions.getDirtyArea() > DIRTY_FULL_REPAINT_RATIO * canvas.getWidth() * canvas.getHeight()) {
+            dynamicLayer.invalidate();
         }
-
-        // Collect results from all threads
-        for (Future<List<InteractionResult>> future : futures) {
-            try {
-                List<InteractionResult> results = future.get();
-                synchronized (interactionResults) {
-                    interactionResults.addAll(results);
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
+        if (dynamicLayer.isInvalid()) {
+            dynamicLayer.clear();
+            renderEntities(player);
+            dynamicLayer.markValid();
+        } else {
+            GraphicsContext gc = dynamicLayer.getGraphicsContext();
+            gc.save();
+            gc.translate(-camera.getX(), -camera.getY());
+            clearDirtyRegions(gc);
+            renderDirtyEntities(gc, player);
+            gc.restore();
         }
     }
 
     /**
-     * Check for collisions between the enemy and other entities.
-     * 
-     * This method will check for collisions between the enemy and other entities
-     * in the game. If a collision is detected, the collision will be processed.
+     * Draw running animations and the profiler overlay. The layer is cleared
+     * once more after the last effect ended and then left alone.
      */
-    private void enemyCollisionCheck() {
-        // Create snapshots to avoid concurrent modification
-        List<Entity> entitySnapshot = createEntitySnapshot();
-        List<Enemy> enemies = new ArrayList<>();
-        
-        synchronized (gameModel.getEntities()) {
-
-            for (Entity entity : entitySnapshot) {
-                if (entity instanceof Enemy) {
-                    enemies.add((Enemy) entity);
-                }
-            }
+    private void renderEffectsLayer(double frameElapsedMilli) {
+        boolean hasEffects = !animationContainer.isEmpty() || profiler.isOverlayVisible();
+        if (hasEffects || effectsDrawn) {
+            effectsLayer.invalidate();
         }
-
-        if (enemies.isEmpty()) return;
-
-        List<Future<List<InteractionResult>>> futures = new ArrayList<>();
-        
-        for (Enemy enemy : enemies) {
-            futures.add(executorService.submit(() -> {
-                List<InteractionResult> results = new ArrayList<>();
-                
-                for (Entity entity : entitySnapshot) {
-                    if (entity == enemy) {
-                        continue;
-                    }
-
-                    if (!(entity instanceof GameElement)) {
-                        continue; 
-                    }
-
-                    if (!(CollisionDetection.Aabb(enemy, entity))) {
-                        continue; 
-                    }
-
-                    GameElement gameElement = (GameElement) entity;
-
-                    InteractionResult result = gameElement.interact(enemy);
-                    if (result != null) {
-                        results.add(result);
-                    }
-
-                    if (gameElement.isOccupying()) {
-                        CollisionDetection.resolveCollision(enemy, gameElement);
-                    }
-                }
-                return results;
-            }));
-        }
-
-        // Collect results from all threads
-        for (Future<List<InteractionResult>> future : futures) {
-            try {
-                List<InteractionResult> results = future.get();
-                synchronized (interactionResults) {
-                    interactionResults.addAll(results);
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
+        if (!effectsLayer.isInvalid()) {
+            return;
         }
+        effectsLayer.clear();
+        GraphicsContext gc = effectsLayer.getGraphicsContext();
+        gc.save();
+        gc.translate(-camera.getX(), -camera.getY());
+        animationContainer.renderAnimations(gc, frameElapsedMilli / MILLIS_TO_SECONDS);
+        gc.restore();
+        profiler.renderOverlay(gc);
+        effectsDrawn = hasEffects;
+        effectsLayer.markValid();
     }
 
     /**
-     * Process the results of interactions.
-     * 
-     * This method will process the results of interactions between the player and
-     * other entities in the game.
+     * Report the world bounds every visible entity is drawn at this frame.
+     * Entities that left the viewport count as removed.
      */
-    private void processInteractionResults() {
-        // Use an explicit iterator for safe removal
-        Iterator<InteractionResult> iterator = interactionResults.iterator();
-        while (iterator.hasNext()) {
-            InteractionResult result = iterator.next();
-            if (result != null) {
-                if (result.getGameWon()) {
-                    processWinResult();
-                }
-                if (result.getLevelUp()) {
-                    if (processLevelUpResult(result, iterator)) {
-                        return; // Exit early after reloading to avoid further processing
-                    }
-                }
-                if (result.getHeal()) {
-                    processHealResult(result);
-                }
-                if (result.getTakeDamage()) {
-                    processDamageResult(result);
-                }
-            }
-            iterator.remove(); 
+    private void trackDirtyRegions(Player player) {
+        dirtyRegions.beginFrame();
+        for (int i = 0; i < visibleEntities.size(); i++) {
+            Entity entity = visibleEntities.get(i);
+            dirtyRegions.track(entity, entity.getRenderX(), entity.getRenderY(), entity.getWidth(),
+                    entity.getHeight(), entity.hasFrameChanged());
         }
+        dirtyRegions.track(player, player.getRenderX(), player.getRenderY(), player.getWidth(),
+                player.getHeight(), player.hasFrameChanged());
+        dirtyRegions.endFrame();
     }
 
-    private void processWinResult() {
-        winGame();
+    /**
+     * Erase every dirty rectangle of the dynamic layer, letting the floor
+     * below show through.
+     */
+    private void clearDirtyRegions(GraphicsContext gc) {
+        for (int i = 0; i < dirtyRegions.getDirtyCount(); i++) {
+            gc.clearRect(dirtyRegions.getDirtyX(i), dirtyRegions.getDirtyY(i),
+                    dirtyRegions.getDirtyWidth(i), dirtyRegions.getDirtyHeight(i));
+        }
     }
 
-    private boolean processLevelUpResult(InteractionResult result, Iterator<InteractionResult> iterator) {
-        iterator.remove(); 
-        level += LEVEL_INCREMENT;
-        loader.loadDungeon(level); 
-        return true; // Indicates early return needed
+    /**
+     * Redraw the entities touching a dirty rectangle, clipped to the dirty
+     * rectangles so untouched pixels are not drawn twice.
+     */
+    private void renderDirtyEntities(GraphicsContext gc, Player player) {
+        if (dirtyRegions.getDirtyCount() == 0) {
+            return;
+        }
+        gc.save();
+        gc.beginPath();
+        for (int i = 0; i < dirtyRegions.getDirtyCount(); i++) {
+            gc.rect(dirtyRegions.getDirtyX(i), dirtyRegions.getDirtyY(i),
+                    dirtyRegions.getDirtyWidth(i), dirtyRegions.getDirtyHeight(i));
+        }
+        gc.clip();
+        for (int i = 0; i < visibleEntities.size(); i++) {
+            queueIfDirty(visibleEntities.get(i));
+        }
+        queueIfDirty(player);
+        renderQueue.flush(gc);
+        gc.restore();
     }
 
-    private void processHealResult(InteractionResult result) {
-        Entity sourceEntity = result.getSource();
-        if (sourceEntity instanceof Well) {
-            Well well = (Well) sourceEntity;
-            gameModel.getPlayer().heal(well.getHealAmount());
+    private void queueIfDirty(Entity entity) {
+        if (dirtyRegions.intersectsDirty(entity.getRenderX(), entity.getRenderY(), entity.getWidth(),
+                entity.getHeight())) {
+            renderQueue.add(entity);
         }
     }
 
-    private void processDamageResult(InteractionResult result) {
-        if (result.getEntity() instanceof Player) {
-            ((Player) result.getEntity()).takeDamage(DEFAULT_DAMAGE);
-        }
-        if (result.getEntity() instanceof Enemy) {
-            Enemy enemy = (Enemy) result.getEntity();
-            enemy.takeDamage(DEFAULT_DAMAGE);
+    public void startGame() {
+        resetGame();
+        initializeGameLoop();
+        simulationClock.reset();
+        engine.start();
+        gameLoop.start(); // Start the game loop
+    }
 
-            // If the enemy is dead, add an explosion animation
-            if (enemy.isDead()) {
-                createExplosionAnimation(enemy);
-            }
-        }
+    private void resetGame() {
+        gameOver = false;
+        gameModel = new GameModel();
+        engine = new SimulationEngine(gameModel, new Loader(model, gameModel), this);
+        engine.setProfiler(profiler);
+        profiler.reset();
+        framePacer.reset();
+        pendingEffectMillis = 0;
+        animationContainer.clear();
+        dirtyRegions.reset();
+        lastStaticLayer = null;
+        lastFloorVersion = -1;
+        staticLayer.invalidate();
+        dynamicLayer.invalidate();
+        effectsLayer.invalidate();
     }
 
-    private void createExplosionAnimation(Enemy enemy) {
-        Image explosionSpriteSheet = new Image(EXPLOSION_SPRITE_PATH);
-        Image[] explosionFrames = ImageUtils.partitionImage(explosionSpriteSheet, EXPLOSION_FRAME_COUNT);
-        double x = enemy.getPositionX();
-        double y = enemy.getPositionY();
-        double width = enemy.getWidth();
-        double height = enemy.getHeight();
-        animationContainer.addAnimation(
-            new ExplosionAnimation(EXPLOSION_DURATION, explosionFrames, EXPLOSION_FRAME_DURATION, x, y, width, height));
+    /**
+     * Stop the game.
+     *
+     * This method will stop the game loop and set the game over flag to true.
+     */
+    @Override
+    public void onPlayerDied() {
+        System.out.println("That's all folks!");
+        gameLoop.stop();
+        gameOver = true;
+        model.activeMenuProperty().set(GuiState.LOSS);
+        engine.stop();
+        profiler.dumpCsv();
     }
 
-    private List<Entity> createEntitySnapshot() {
-        synchronized (gameModel.getEntities()) {
-            return new ArrayList<>(gameModel.getEntities());
-        }
+    /**
+     * Method to be called when the player has won the game.
+     *
+     * This method will stop the game loop and display a victory message.
+     */
+    @Override
+    public void onGameWon() {
+        System.out.println("Congratulations! You have successfully exited the dungeon.");
+        gameLoop.stop();
+        gameOver = true;
+        model.activeMenuProperty().set(GuiState.VICTORY);
+        engine.stop();
+        profiler.dumpCsv();
     }
 
-    private void shutdownExecutorService() {
-        executorService.shutdown();
+    /**
+     * Add an explosion animation where the enemy died.
+     */
+    @Override
+    public void onEnemyKilled(Enemy enemy) {
+        createExplosionAnimation(enemy);
     }
 
     /**
-     * Remove dead entities from the game.
-     * 
-     * This method will remove dead entities from the game. Dead entities are
-     * entities that have been marked as dead and should be removed from the game.
+     * Follow the game model of a prefetched level and redraw everything.
      */
-    private void removeDeadEntities() {
-        synchronized (gameModel.getEntities()) {
-            Iterator<Entity> iterator = gameModel.getEntities().iterator();
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if ((entity instanceof Enemy && ((Enemy) entity).isDead()) ||
-                        (entity instanceof Player && ((Player) entity).isDead()) ||
-                        (entity instanceof Projectile && ((Projectile) entity).shouldRemove())) {
-                    iterator.remove();
-                }
-            }
+    @Override
+    public void onLevelChanged(GameModel gameModel) {
+        this.gameModel = gameModel;
+        dirtyRegions.reset();
+        lastStaticLayer = null;
+        lastFloorVersion = -1;
+        staticLayer.invalidate();
+        dynamicLayer.invalidate();
+    }
+
+    private void createExplosionAnimation(Enemy enemy) {
+        if (!framePacer.isEffectsEnabled()) {
+            return;
         }
+        double x = enemy.getPositionX();
+        double y = enemy.getPositionY();
+        double width = enemy.getWidth();
+        double height = enemy.getHeight();
+        animationContainer.addAnimation(explosionPool.obtain(x, y, width, height));
     }
 
 
     /**
      * Render the floor of the game.
-     * 
+     *
      * This method will render the floor of the game, which is the background of the
-     * game.
+     * game. Uses the layer baked by the {@link Loader} when there is one, and
+     * otherwise draws the tiles inside the viewport.
      */
     public void renderFloor() {
+        GraphicsContext gc = staticLayer.getGraphicsContext();
         gc.setFill(Color.BLACK);
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        List<Entity> floorSnapshot;
-        synchronized (gameModel.getFloorEntities()) {
-            floorSnapshot = new ArrayList<>(gameModel.getFloorEntities());
-        }
-        for (Entity entity : floorSnapshot) {
-            entity.render(gc);
+
+        Image bakedLayer = gameModel.getStaticLayer();
+        if (bakedLayer != null) {
+            // Copy only the visible part of the layer
+            double sourceX = Math.max(0, camera.getX());
+            double sourceY = Math.max(0, camera.getY());
+            double sourceWidth = Math.min(bakedLayer.getWidth(), camera.getX() + camera.getViewportWidth()) - sourceX;
+            double sourceHeight = Math.min(bakedLayer.getHeight(), camera.getY() + camera.getViewportHeight()) - sourceY;
+            if (sourceWidth > 0 && sourceHeight > 0) {
+                gc.drawImage(bakedLayer, sourceX, sourceY, sourceWidth, sourceHeight,
+                        sourceX - camera.getX(), sourceY - camera.getY(), sourceWidth, sourceHeight);
+            }
+            return;
         }
-    }
 
-    /**
-     * Render all entities in the game.
-     * 
-     * This method will render all entities in the game, including the player.
-     */
-    public void renderEntities() {
-        List<Entity> entitySnapshot;
-        synchronized (gameModel.getEntities()) {
-            entitySnapshot = new ArrayList<>(gameModel.getEntities());
+        gc.save();
+        gc.translate(-camera.getX(), -camera.getY());
+        TileMap tileMap = gameModel.getTileMap();
+        if (tileMap != null) {
+            tileMap.render(gc, camera.getX(), camera.getY(), camera.getViewportWidth(), camera.getViewportHeight());
         }
-        for (Entity entity : entitySnapshot) {
-            entity.render(gc);
+        for (Entity floorEntity : gameModel.getFloorEntities()) {
+            if (camera.isVisible(floorEntity.getPositionX(), floorEntity.getPositionY(), floorEntity.getWidth(),
+                    floorEntity.getHeight())) {
+                floorEntity.render(gc);
+            }
         }
-        gameModel.getPlayer().render(gc);
+        gc.restore();
     }
 
     /**
-     * Render the status bar at the bottom of the screen showing HP, AP, and Inventory.
+     * Render the entities inside the viewport and the player, in the order of
+     * the {@link RenderQueue}.
+     *
+     * @param player The player of the current frame.
      */
-    private void renderStatusBar() {
-        gc.setFill(Color.BLACK);
-        gc.fillRect(0, Global.GAME_AREA_HEIGHT, Global.WINDOW_WIDTH, Global.STATUS_BAR_HEIGHT);
-        
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.NORMAL, STATUS_BAR_FONT_SIZE));
-        
-        Player player = gameModel.getPlayer();
-        String hpText = "HP: " + player.getHealth();
-        String apText = "AP: " + player.getPlayerDamage();
-        String inventoryText = "Inventory: " + (player.getInventory().isEmpty() ? "" : String.join(", ", player.getInventory()));
-        
-        int textY = Global.GAME_AREA_HEIGHT + STATUS_BAR_TEXT_Y_OFFSET; 
-        gc.fillText(hpText, HP_TEXT_X, textY);
-        gc.fillText(apText, AP_TEXT_X, textY);
-        gc.fillText(inventoryText, INVENTORY_TEXT_X, textY);
+    public void renderEntities(Player player) {
+        GraphicsContext gc = dynamicLayer.getGraphicsContext();
+        gc.save();
+        gc.translate(-camera.getX(), -camera.getY());
+        for (int i = 0; i < visibleEntities.size(); i++) {
+            renderQueue.add(visibleEntities.get(i));
+        }
+        renderQueue.add(player);
+        renderQueue.flush(gc);
+        gc.restore();
     }
 
     public Region build() {
-        VBox layout = new VBox();
-        layout.getChildren().addAll(canvas);
-        return layout;
+        StackPane layers = new StackPane();
+        layers.setPrefSize(Global.WINDOW_WIDTH, Global.WINDOW_HEIGHT);
+        layers.getChildren().addAll(staticLayer.getCanvas(), dynamicLayer.getCanvas(), effectsLayer.getCanvas(),
+                statusBar.getCanvas());
+        StackPane.setAlignment(staticLayer.getCanvas(), Pos.TOP_LEFT);
+        StackPane.setAlignment(dynamicLayer.getCanvas(), Pos.TOP_LEFT);
+        StackPane.setAlignment(effectsLayer.getCanvas(), Pos.TOP_LEFT);
+        StackPane.setAlignment(statusBar.getCanvas(), Pos.BOTTOM_LEFT);
+        return layers;
     }
 
     public Region getView() {
         return build();
     }
-}
\ No newline at end of file
+}
@@ -5,7 +5,10 @@ public final class GameConstants {
     public static final int DEFAULT_DAMAGE = 10;
     public static final int DEFAULT_HEAL_AMOUNT = 10;
     
-    public static final int MAX_COLLISION_THREADS = 4;
+    public static final int MAX_TICK_WORKERS = 4;
+    public static final double DEFAULT_CELL_SIZE = 32.0;
+    public static final double TILE_SIZE = 32.0;
+    public static final int MAX_BAKED_LAYER_SIZE = 2048;
     
     public static final double EXPLOSION_DURATION = 1.0;
     public static final double EXPLOSION_FRAME_DURATION = 0.2;
@@ -14,6 +17,18 @@ public final class GameConstants {
     public static final long NANOS_TO_MILLIS = 1000000L;
     public static final double MILLIS_TO_SECONDS = 1000.0;
     
+    public static final int SIMULATION_TICKS_PER_SECOND = 60;
+    public static final double SIMULATION_STEP_MILLIS = MILLIS_TO_SECONDS / SIMULATION_TICKS_PER_SECOND;
+    public static final int MAX_CATCH_UP_STEPS = 5;
+    
+    public static final double FRAME_BUDGET_MILLIS = MILLIS_TO_SECONDS / 60;
+    public static final int MAX_RENDER_STRIDE = 4;
+    public static final double FRAME_PACING_SMOOTHING = 0.1;
+    public static final double FRAME_PACING_RECOVERY_RATIO = 0.5;
+    public static final int FRAME_PACING_ADJUST_INTERVAL = 30;
+    
+    public static final long ASSET_CACHE_BUDGET_MB = 64;
+    
     public static final String EXPLOSION_SPRITE_PATH = "file:assets/misc/explosion.png";
     
     public static final int STATUS_BAR_TEXT_Y_OFFSET = 25;
@@ -27,9 +42,16 @@ public final class GameConstants {
     
     public static final double STATIC_SPRITE_DURATION = 1.0;
     
-    public static final String MOVEMENT_UPDATE_INTERRUPTED = "Movement update was interrupted";
+    public static final double DIRTY_FULL_REPAINT_RATIO = 0.5;
+    
+    public static final int PROFILE_DUMP_INTERVAL_SECONDS = 5;
+    public static final int PROFILE_OVERLAY_X = 5;
+    public static final int PROFILE_OVERLAY_Y = 5;
+    public static final int PROFILE_OVERLAY_WIDTH = 320;
+    public static final int PROFILE_OVERLAY_LINE_HEIGHT = 14;
+    public static final int PROFILE_OVERLAY_FONT_SIZE = 11;
+    
     public static final String MOVEMENT_UPDATE_FAILED = "Movement update failed";
-    public static final String COLLISION_CHECK_INTERRUPTED = "Collision check was interrupted";
     public static final String COLLISION_CHECK_FAILED = "Collision check failed";
     
     // Prevent instantiation
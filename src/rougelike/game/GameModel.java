@@ -1,16 +1,68 @@
 package rougelike.game;
 
+import java.util.Collection;
+
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.scene.image.Image;
 import rougelike.game.entities.Entity;
+import rougelike.game.entities.EntityStore;
 import rougelike.game.entities.Player;
+import rougelike.game.entities.Projectile;
+import rougelike.game.entities.SpatialHash;
+import rougelike.game.entities.TileMap;
+import rougelike.game.entities.TileOccupancy;
+import static rougelike.game.GameConstants.DEFAULT_CELL_SIZE;
 
 public class GameModel {
     private final ObservableList<Entity> floorEntities = FXCollections.observableArrayList();
     private final ObservableList<Entity> entities = FXCollections.observableArrayList();
+    private final EntityStore entityStore = new EntityStore();
+    private final SpatialHash spatialHash = new SpatialHash(
+            tileWidth > 0 ? tileWidth : DEFAULT_CELL_SIZE, tileHeight > 0 ? tileHeight : DEFAULT_CELL_SIZE);
     private Player player;
+    private TileMap tileMap;
+    private TileOccupancy tileOccupancy;
+    private Image staticLayer;
     private static double tileHeight;
     private static double tileWidth;
+    private int version;
+    private int floorVersion;
+    private int frameViewVersion = -1;
+    private FrameView frameView;
+
+    public GameModel() {
+        ListChangeListener<Entity> invalidateFrameView = change -> version++;
+        ListChangeListener<Entity> invalidateFloor = change -> floorVersion++;
+        floorEntities.addListener(invalidateFrameView);
+        floorEntities.addListener(invalidateFloor);
+        entities.addListener(invalidateFrameView);
+        entities.addListener(this::trackEntities);
+    }
+
+    /**
+     * Keep the entity store and the spatial hash in step with the entity list.
+     * Floor entities never take part in the simulation and stay out of both.
+     * Projectiles are swept separately and stay out of the spatial hash.
+     */
+    private void trackEntities(ListChangeListener.Change<? extends Entity> change) {
+        while (change.next()) {
+            for (Entity removed : change.getRemoved()) {
+                entityStore.remove(removed);
+                // Duplicates stay in the hash until the last copy is removed
+                if (removed != null && removed.getStoreIndex() < 0) {
+                    spatialHash.remove(removed);
+                }
+            }
+            for (Entity added : change.getAddedSubList()) {
+                entityStore.add(added);
+                if (!(added instanceof Projectile)) {
+                    spatialHash.insert(added);
+                }
+            }
+        }
+    }
 
     public ObservableList<Entity> getFloorEntities() {
         return floorEntities;
@@ -26,6 +78,7 @@ public class GameModel {
 
     public void setTileHeight(double tileHeight) {
         GameModel.tileHeight = tileHeight;
+        updateCellSize();
     }
 
     public static double getTileWidth() {
@@ -34,12 +87,42 @@ public class GameModel {
 
     public void setTileWidth(double tileWidth) {
         GameModel.tileWidth = tileWidth;
+        updateCellSize();
+    }
+
+    private void updateCellSize() {
+        if (tileWidth > 0 && tileHeight > 0) {
+            spatialHash.setCellSize(tileWidth, tileHeight);
+        }
     }
 
     public Player getPlayer() {
         return player;
     }
 
+    /**
+     * @return The column storage of the player and all non-floor entities
+     */
+    public EntityStore getEntityStore() {
+        return entityStore;
+    }
+
+    /**
+     * @return The broadphase over all non-floor entities, with one cell per tile
+     */
+    public SpatialHash getSpatialHash() {
+        return spatialHash;
+    }
+
+
+    /**
+     * @return A counter that changes whenever the tile map or the floor
+     *         entities change, so the renderer knows when the static layer
+     *         has to be redrawn
+     */
+    public int getFloorVersion() {
+        return floorVersion;
+    }
 
     public void addFloorEntity(Entity entity) {
         floorEntities.add(entity);
@@ -49,12 +132,99 @@ public class GameModel {
         entities.add(entity);
     }
 
+    /**
+     * Add many entities as one change, e.g. all entities of a level.
+     */
+    public void addEntities(Collection<? extends Entity> added) {
+        entities.addAll(added);
+    }
+
+    /**
+     * @return The floor and wall tiles of the current level, or null if no
+     *         level is loaded
+     */
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
+    /**
+     * Use the tiles of a level, and the blocked tiles derived from them.
+     */
+    public void setTileMap(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.tileOccupancy = tileMap == null ? null : tileMap.getOccupancy();
+        floorVersion++;
+    }
+
+    /**
+     * @return The width of the current level in world coordinates, or 0 if
+     *         no level is loaded
+     */
+    public double getWorldWidth() {
+        return tileOccupancy == null ? 0 : tileOccupancy.getWorldWidth();
+    }
+
+    /**
+     * @return The height of the current level in world coordinates, or 0 if
+     *         no level is loaded
+     */
+    public double getWorldHeight() {
+        return tileOccupancy == null ? 0 : tileOccupancy.getWorldHeight();
+    }
+
+    /**
+     * @return The blocked tiles of the current level, or null if no level is
+     *         loaded
+     */
+    public TileOccupancy getTileOccupancy() {
+        return tileOccupancy;
+    }
+
+    public void setTileOccupancy(TileOccupancy tileOccupancy) {
+        this.tileOccupancy = tileOccupancy;
+    }
+
+    /**
+     * @return The tiles of the current level baked into one image, or
+     *         null if they have to be drawn one by one
+     */
+    public Image getStaticLayer() {
+        return staticLayer;
+    }
+
+    public void setStaticLayer(Image staticLayer) {
+        this.staticLayer = staticLayer;
+    }
+
     public void setPlayer(Entity player) {
+        entityStore.remove(this.player);
         this.player = (Player) player;
+        entityStore.add(this.player);
+        version++;
+    }
+
+    /**
+     * Get a read-only, partitioned view of the current entities. The view is
+     * rebuilt only if the entity lists or the player changed since the last
+     * call, so all phases of a tick and the renderer share one copy.
+     *
+     * @return The frame view for the current state of the model
+     */
+    public FrameView getFrameView() {
+        if (frameView == null || frameViewVersion != version) {
+            synchronized (entities) {
+                frameView = new FrameView(player, floorEntities, entities);
+            }
+            frameViewVersion = version;
+        }
+        return frameView;
     }
 
     public void clear() {
         floorEntities.clear();
         entities.clear();
+        tileMap = null;
+        tileOccupancy = null;
+        staticLayer = null;
     }
 }
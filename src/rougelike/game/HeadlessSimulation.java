@@ -0,0 +1,74 @@
+package rougelike.game;
+
+import static rougelike.game.GameConstants.*;
+
+import rougelike.game.entities.Enemy;
+
+/**
+ * Runs the game simulation without a display, as fast as the CPU allows.
+ *
+ * Intended for benchmarks, server-side simulation and soak runs on machines
+ * without a graphics stack. Usage:
+ *
+ * <pre>
+ * java -cp bin rougelike.game.HeadlessSimulation [dungeon name] [ticks]
+ * </pre>
+ *
+ * Prints the tick phase timings at the end; add {@code -Dprofile.csv=file} to
+ * also append them to a CSV file.
+ */
+public class HeadlessSimulation implements SimulationListener {
+    private static final String DEFAULT_DUNGEON = "Dungeon 1";
+    private static final int DEFAULT_TICKS = 100000;
+
+    private int enemiesKilled;
+    private String outcome = "running";
+
+    public static void main(String[] args) {
+        PlatformUtils.setHeadlessMode(true);
+
+        String dungeonName = args.length > 0 ? args[0] : DEFAULT_DUNGEON;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+
+        HeadlessSimulation listener = new HeadlessSimulation();
+        GameModel gameModel = new GameModel();
+        SimulationEngine engine = new SimulationEngine(gameModel, Loader.forDungeon(dungeonName, gameModel), listener);
+        engine.setProfiler(new FrameProfiler(PlatformUtils.getProfileCsvPath()));
+
+        engine.start();
+        if (!engine.isRunning()) {
+            System.err.println("Could not start dungeon: " + dungeonName);
+            engine.stop();
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        int completed = engine.runTicks(ticks, SIMULATION_STEP_MILLIS);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        engine.stop();
+
+        double elapsedSeconds = elapsedNanos / 1e9;
+        System.out.printf("Ran %d ticks (%.1f s simulated) in %.3f s: %.0f ticks/s%n",
+                completed, completed * SIMULATION_STEP_MILLIS / MILLIS_TO_SECONDS, elapsedSeconds,
+                completed / Math.max(elapsedSeconds, 1e-9));
+        System.out.println("Outcome: " + listener.outcome + ", level " + engine.getLevel()
+                + ", enemies killed: " + listener.enemiesKilled);
+        System.out.print(engine.getProfiler().summary());
+        engine.getProfiler().dumpCsv();
+    }
+
+    @Override
+    public void onGameWon() {
+        outcome = "won";
+    }
+
+    @Override
+    public void onPlayerDied() {
+        outcome = "player died";
+    }
+
+    @Override
+    public void onEnemyKilled(Enemy enemy) {
+        enemiesKilled++;
+    }
+}
@@ -1,109 +1,300 @@
 package rougelike.game;
 
-import javafx.scene.image.Image;
-import rougelike.Global;
+import static rougelike.game.GameConstants.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
 import rougelike.Model;
-import rougelike.game.entities.Enemy;
 import rougelike.game.entities.Entity;
-import rougelike.game.entities.Exit;
-import rougelike.game.entities.Floor;
 import rougelike.game.entities.ImageDatabase;
-import rougelike.game.entities.Ladder;
 import rougelike.game.entities.Player;
-import rougelike.game.entities.Projectile;
-import rougelike.game.entities.Wall;
-import rougelike.game.entities.Well;
+import rougelike.game.entities.TileMap;
+import rougelike.game.entities.TileType;
 import rougelike.game.dungeon.DungeonDatabase;
+import rougelike.game.graphics.StaticLayerBaker;
 
 public class Loader {
-    private final Model model;
-    private final GameModel gameModel;
+    private final Supplier<String> selectedDungeon;
+    private GameModel gameModel;
+    private List<Character> levelKeys = new ArrayList<>();
+    private ExecutorService prefetcher;
+
+    /**
+     * A level built ahead of time into its own game model by
+     * {@link Loader#prefetch}.
+     */
+    public static final class PreparedLevel {
+        private final int level;
+        private final GameModel gameModel;
+        private final List<Character> keys;
+
+        private PreparedLevel(int level, GameModel gameModel, List<Character> keys) {
+            this.level = level;
+            this.gameModel = gameModel;
+            this.keys = keys;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public GameModel getGameModel() {
+            return gameModel;
+        }
+    }
 
     public Loader(Model model, GameModel gameModel) {
-        this.model = model;
-        this.gameModel = gameModel;
+        this(() -> model.getSelectedDungeon(), gameModel);
     }
 
-    private void calculateTileWidth(int columns) {
-        gameModel.setTileWidth(Global.WINDOW_WIDTH / columns);
+    private Loader(Supplier<String> selectedDungeon, GameModel gameModel) {
+        this.selectedDungeon = selectedDungeon;
+        this.gameModel = gameModel;
     }
 
-    private void calculateTileHeight(int rows) {
-        gameModel.setTileHeight(Global.WINDOW_HEIGHT / rows);
+    /**
+     * Create a loader for a fixed dungeon, without a {@link Model}. Used when
+     * the game runs headless.
+     *
+     * @param dungeonName The name of the dungeon in {@link DungeonDatabase}
+     * @param gameModel   The game model to load the levels into
+     * @return A loader for the given dungeon
+     */
+    public static Loader forDungeon(String dungeonName, GameModel gameModel) {
+        return new Loader(() -> dungeonName, gameModel);
     }
 
     public void loadDungeon(int level) {
+        char[][] layout = layoutOf(level);
+        if (layout == null) {
+            gameModel.clear();
+            System.err.println("Invalid level index or dungeon data: " + level);
+            return;
+        }
+        loadLevel(layout);
+    }
+
+    /**
+     * @return The layout of a level of the selected dungeon, or null if the
+     *         dungeon has no such level
+     */
+    private char[][] layoutOf(int level) {
+        char[][][] dungeon = DungeonDatabase.getDungeonLayoutByName(selectedDungeon.get());
+        if (dungeon == null || level < 0 || level >= dungeon.length || dungeon[level] == null || dungeon[level].length == 0) {
+            return null;
+        }
+        return dungeon[level];
+    }
+
+    /**
+     * Replace the contents of the game model with a level layout, keeping the
+     * health of the current player.
+     *
+     * @param layout The rows of tile codes of the level
+     */
+    void loadLevel(char[][] layout) {
         // Store current player health before clearing
         Player currentPlayer = gameModel.getPlayer();
         int currentHealth = (currentPlayer != null) ? currentPlayer.getHealth() : 100;
-        
+
         gameModel.clear();
+        levelKeys = levelKeys(layout);
+        ImageDatabase.pinLevelAssets(levelKeys);
+        useTileSize(gameModel);
+        buildLevel(layout, gameModel, EntityPrototypes.standard(), floorType(), wallType());
 
-        char[][][] dungeon = DungeonDatabase.getDungeonLayoutByName(model.getSelectedDungeon());
+        // Restore the previous health instead of starting with max health
+        if (currentPlayer != null && gameModel.getPlayer() != null) {
+            gameModel.getPlayer().setHealth(currentHealth);
+        }
+    }
 
-        if (dungeon == null || level < 0 || level >= dungeon.length || dungeon[level] == null || dungeon[level].length == 0) {
-            System.err.println("Invalid level index or dungeon data: " + level);
-            return;
+    /**
+     * Start building a level of the selected dungeon into a new game model on
+     * a background thread, so switching to it later costs no frame time. The
+     * current game model is not touched.
+     *
+     * The images of the level are pinned next to those of the current level
+     * and resolved on the calling thread, so the background thread only
+     * creates entities and tiles from them.
+     *
+     * @param level The index of the level
+     * @return The prepared level, or null if the dungeon has no such level
+     */
+    public CompletableFuture<PreparedLevel> prefetch(int level) {
+        char[][] layout = layoutOf(level);
+        if (layout == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<Character> keys = levelKeys(layout);
+        List<Character> pinned = new ArrayList<>(levelKeys);
+        pinned.addAll(keys);
+        ImageDatabase.pinLevelAssets(pinned);
+
+        EntityPrototypes prototypes = EntityPrototypes.standard();
+        TileType floor = floorType();
+        TileType wall = wallType();
+        return CompletableFuture.supplyAsync(() -> {
+            GameModel prepared = new GameModel();
+            buildLevel(layout, prepared, prototypes, floor, wall);
+            return new PreparedLevel(level, prepared, keys);
+        }, prefetcher());
+    }
+
+    /**
+     * Make a prefetched level the current one. The player of the new level
+     * keeps the health of the current player.
+     *
+     * @param prepared A level returned by {@link #prefetch}
+     */
+    public void activate(PreparedLevel prepared) {
+        Player currentPlayer = gameModel.getPlayer();
+        Player nextPlayer = prepared.gameModel.getPlayer();
+        if (currentPlayer != null && nextPlayer != null) {
+            nextPlayer.setHealth(currentPlayer.getHealth());
         }
+        levelKeys = prepared.keys;
+        ImageDatabase.pinLevelAssets(levelKeys);
+        useTileSize(prepared.gameModel);
+        gameModel = prepared.gameModel;
+    }
 
-        calculateTileWidth(dungeon[level][0].length);
-        calculateTileHeight(dungeon[level].length);
+    /**
+     * @return The game model levels are loaded into, which changes when a
+     *         prefetched level is activated
+     */
+    public GameModel getGameModel() {
+        return gameModel;
+    }
 
-        for (int row = 0; row < dungeon[level].length; row++) {
-            for (int col = 0; col < dungeon[level][row].length; col++) {
-                char key = dungeon[level][row][col];
-                double positionX = col * GameModel.getTileWidth();
-                double positionY = row * GameModel.getTileHeight();
+    /**
+     * Stop the background thread building prefetched levels.
+     */
+    public void shutdown() {
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+            prefetcher = null;
+        }
+    }
 
-                gameModel.addFloorEntity(
-                    loadEntity(' ', positionX, positionY, GameModel.getTileWidth(), GameModel.getTileHeight()));
+    private ExecutorService prefetcher() {
+        if (prefetcher == null) {
+            prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "level-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return prefetcher;
+    }
 
-                if (key == 'P') {
-                    Player newPlayer = (Player) loadEntity(key, positionX, positionY, GameModel.getTileWidth(), GameModel.getTileHeight());
-                    // Restore the previous health instead of starting with max health
-                    if (currentPlayer != null) {
-                        newPlayer.setHealth(currentHealth);
-                    }
-                    gameModel.setPlayer(newPlayer);
+    /**
+     * Tiles have a fixed size in world coordinates, so a level can be larger
+     * than the window and is scrolled by the camera. The size is shared by
+     * all game models and only set on the thread running the game.
+     */
+    private static void useTileSize(GameModel target) {
+        target.setTileWidth(TILE_SIZE);
+        target.setTileHeight(TILE_SIZE);
+    }
+
+    private static TileType floorType() {
+        return new TileType(' ', ImageDatabase.getImage(' '), false);
+    }
+
+    private static TileType wallType() {
+        return new TileType('W', ImageDatabase.getImage('W'), true);
+    }
+
+    /**
+     * Build the tiles and entities of a level into an empty game model. Reads
+     * no shared state, so it may run on a background thread.
+     */
+    private static void buildLevel(char[][] layout, GameModel target, EntityPrototypes prototypes,
+            TileType floorType, TileType wallType) {
+        double tileWidth = TILE_SIZE;
+        double tileHeight = TILE_SIZE;
+
+        // Floor and walls are cells of the tile map rather than entities
+        TileMap tileMap = new TileMap(layout.length, maxColumns(layout), tileWidth, tileHeight, floorType);
+        byte wall = tileMap.addType(wallType);
+        List<Entity> entities = new ArrayList<>();
+
+        for (int row = 0; row < layout.length; row++) {
+            for (int col = 0; col < layout[row].length; col++) {
+                char key = layout[row][col];
+                if (key == ' ') {
+                    continue;
+                }
+                if (key == 'W') {
+                    tileMap.setTile(row, col, wall);
                     continue;
                 }
 
-                if (key != ' ') {
-                    gameModel.addEntity(
-                        loadEntity(key, positionX, positionY, GameModel.getTileWidth(), GameModel.getTileHeight()));
+                Entity entity = prototypes.create(key, col * tileWidth, row * tileHeight, tileWidth, tileHeight);
+                if (key == 'P') {
+                    target.setPlayer(entity);
+                    continue;
                 }
+                entities.add(entity);
             }
         }
+
+        // One change for the whole level instead of one per entity
+        target.addEntities(entities);
+        target.setTileMap(tileMap);
+        bakeStaticLayer(target);
     }
 
-    private Entity loadEntity(char key, double positionX, double positionY, double tileWidth, double tileHeight) {
-        Image image = ImageDatabase.getImage(key);
-        Image[] idleFrames = ImageDatabase.getAnimationFrames('P');
-        Image[] movingFrames = ImageDatabase.getAnimationFrames('R');
-        Image[] animationFrames = ImageDatabase.getAnimationFrames(key);
+    /**
+     * Rasterize the floor and walls once, so the renderer draws one image per
+     * frame instead of every tile. Skipped without a graphics toolkit, where
+     * the tiles have no images anyway, and for levels too large to hold in one
+     * image, whose visible tiles are drawn one by one instead.
+     */
+    private static void bakeStaticLayer(GameModel target) {
+        if (PlatformUtils.isTestMode() || PlatformUtils.isHeadlessMode()) {
+            return;
+        }
+        int width = (int) Math.ceil(target.getWorldWidth());
+        int height = (int) Math.ceil(target.getWorldHeight());
+        if (width <= 0 || height <= 0 || width > MAX_BAKED_LAYER_SIZE || height > MAX_BAKED_LAYER_SIZE) {
+            return;
+        }
+        try {
+            target.setStaticLayer(StaticLayerBaker.bake(target.getTileMap(), width, height));
+        } catch (RuntimeException e) {
+            System.err.println("Could not bake the static layer, drawing tiles instead: " + e.getMessage());
+        }
+    }
 
-        switch (key) {
-            case ' ':
-                return new Floor(positionX, positionY, tileWidth, tileHeight, image);
-            case 'P':
-                return new Player(positionX, positionY, tileWidth, tileHeight, image, idleFrames, movingFrames, 100, 10);
-            case 'W':
-                return new Wall(positionX, positionY, tileWidth, tileHeight, image);
-            case 'E':
-                if (animationFrames != null) {
-                    return new Enemy(positionX, positionY, tileWidth, tileHeight, animationFrames, 50, 5, 0.05, 10000.0, 0.2);
+    /**
+     * @return Every character used in a level layout
+     */
+    private static List<Character> levelKeys(char[][] layout) {
+        boolean[] used = new boolean[Character.MAX_VALUE + 1];
+        List<Character> keys = new ArrayList<>();
+        for (char[] row : layout) {
+            for (char key : row) {
+                if (!used[key]) {
+                    used[key] = true;
+                    keys.add(key);
                 }
-            case 'L':
-                return new Ladder(positionX, positionY, tileWidth, tileHeight, image);
-            case 'w':
-                return new Well(positionX, positionY, tileWidth, tileHeight, animationFrames, 10, 0.2);         
-            case 'p':
-                return new Projectile(positionX, positionY, tileWidth, tileHeight, image, positionY, tileWidth,
-                    tileHeight, 10);
-            case 'e':
-                return new Exit(positionX, positionY, tileWidth, tileHeight, image);
-            default:
-                throw new IllegalArgumentException("Invalid character in dungeon file: " + key);
+            }
+        }
+        return keys;
+    }
+
+    private static int maxColumns(char[][] layout) {
+        int columns = 0;
+        for (char[] row : layout) {
+            columns = Math.max(columns, row.length);
         }
+        return columns;
     }
 }
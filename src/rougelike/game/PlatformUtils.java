@@ -11,6 +11,9 @@ import java.util.concurrent.TimeUnit;
 public class PlatformUtils {
     
     private static final String TEST_MODE_PROPERTY = "test.mode";
+    private static final String HEADLESS_MODE_PROPERTY = "headless.mode";
+    private static final String PROFILE_CSV_PROPERTY = "profile.csv";
+    private static final String ASSET_BUDGET_PROPERTY = "asset.budget.mb";
     
     /**
      * Executes a runnable on the JavaFX Application Thread.
@@ -62,6 +65,24 @@ public class PlatformUtils {
         }
     }
     
+    /**
+     * Gets the file frame timings are dumped to, set with -Dprofile.csv=path.
+     *
+     * @return The path, or null if the CSV dump is disabled
+     */
+    public static String getProfileCsvPath() {
+        return System.getProperty(PROFILE_CSV_PROPERTY);
+    }
+    
+    /**
+     * Gets the memory budget of the image cache, set with -Dasset.budget.mb=64.
+     *
+     * @return The budget in bytes
+     */
+    public static long getAssetBudgetBytes() {
+        return Long.getLong(ASSET_BUDGET_PROPERTY, GameConstants.ASSET_CACHE_BUDGET_MB) * 1024L * 1024L;
+    }
+    
     /**
      * Checks if the application is running in test mode.
      */
@@ -87,6 +108,22 @@ public class PlatformUtils {
         System.setProperty(TEST_MODE_PROPERTY, String.valueOf(testMode));
     }
     
+    /**
+     * Checks if the game is running without a display, in which case no images
+     * are decoded and the JavaFX toolkit is never started.
+     */
+    public static boolean isHeadlessMode() {
+        return "true".equals(System.getProperty(HEADLESS_MODE_PROPERTY));
+    }
+    
+    /**
+     * Sets headless mode flag. Must be called before {@code ImageDatabase} is
+     * first used.
+     */
+    public static void setHeadlessMode(boolean headlessMode) {
+        System.setProperty(HEADLESS_MODE_PROPERTY, String.valueOf(headlessMode));
+    }
+    
     /**
      * Safely exits the platform. In test mode, does nothing to avoid
      * shutting down the platform during test suite execution.
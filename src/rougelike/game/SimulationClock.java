@@ -0,0 +1,99 @@
+package rougelike.game;
+
+/**
+ * Fixed-timestep clock for the game simulation.
+ *
+ * Real frame time is accumulated and handed out in whole steps of
+ * {@code stepMillis}, so every update sees the same delta regardless of the
+ * frame rate. The number of steps per frame is capped to avoid a spiral of
+ * death after a long hitch; the time that could not be simulated is dropped.
+ * The remainder left in the accumulator is exposed as an interpolation factor
+ * for rendering between the previous and the current tick.
+ */
+public class SimulationClock {
+    private final double stepMillis;
+    private final int maxCatchUpSteps;
+    private double accumulatorMillis;
+    private double lastFrameMillis;
+    private long lastNanoTime;
+    private boolean started;
+
+    public SimulationClock(double stepMillis, int maxCatchUpSteps) {
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("Step length must be positive");
+        }
+        if (maxCatchUpSteps <= 0) {
+            throw new IllegalArgumentException("Catch-up step limit must be positive");
+        }
+        this.stepMillis = stepMillis;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    /**
+     * Advance the clock to the given timestamp.
+     *
+     * @param currentNanoTime The current time in nanoseconds, as passed to an
+     *                        {@code AnimationTimer}.
+     * @return The number of fixed steps to simulate this frame.
+     */
+    public int advance(long currentNanoTime) {
+        if (!started) {
+            lastNanoTime = currentNanoTime;
+            started = true;
+        }
+        double elapsedMillis = (currentNanoTime - lastNanoTime) / (double) GameConstants.NANOS_TO_MILLIS;
+        lastNanoTime = currentNanoTime;
+        return advanceMillis(elapsedMillis);
+    }
+
+    /**
+     * Advance the clock by an explicit amount of time. Used directly when the
+     * simulation is driven without a real-time source.
+     *
+     * @param elapsedMillis Time elapsed since the last call, in milliseconds.
+     * @return The number of fixed steps to simulate.
+     */
+    public int advanceMillis(double elapsedMillis) {
+        if (elapsedMillis < 0) {
+            elapsedMillis = 0;
+        }
+        lastFrameMillis = elapsedMillis;
+        accumulatorMillis += elapsedMillis;
+
+        int steps = (int) (accumulatorMillis / stepMillis);
+        if (steps > maxCatchUpSteps) {
+            // Drop the backlog instead of trying to catch up with it
+            steps = maxCatchUpSteps;
+            accumulatorMillis = accumulatorMillis % stepMillis;
+        } else {
+            accumulatorMillis -= steps * stepMillis;
+        }
+        return steps;
+    }
+
+    /**
+     * @return How far the current frame lies between the last two ticks, in
+     *         the range [0, 1).
+     */
+    public double getAlpha() {
+        return accumulatorMillis / stepMillis;
+    }
+
+    public double getStepMillis() {
+        return stepMillis;
+    }
+
+    /**
+     * @return The real time covered by the last call to {@link #advance}, in
+     *         milliseconds.
+     */
+    public double getLastFrameMillis() {
+        return lastFrameMillis;
+    }
+
+    public void reset() {
+        accumulatorMillis = 0;
+        lastFrameMillis = 0;
+        started = false;
+    }
+}
@@ -0,0 +1,505 @@
+package rougelike.game;
+
+import rougelike.game.entities.CollisionDetection;
+import rougelike.game.entities.Enemy;
+import rougelike.game.entities.Entity;
+import rougelike.game.entities.EntityStore;
+import rougelike.game.entities.GameElement;
+import rougelike.game.entities.InteractionResult;
+import rougelike.game.entities.Player;
+import rougelike.game.entities.Projectile;
+import rougelike.game.entities.ProjectileSweep;
+import rougelike.game.entities.SpatialHash;
+import rougelike.game.entities.TileOccupancy;
+import rougelike.game.entities.Well;
+import static rougelike.game.GameConstants.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Headless game simulation.
+ *
+ * Drives the {@link GameModel} through movement, collisions and interaction
+ * processing one fixed step at a time. The engine has no knowledge of canvases,
+ * timers or menus; outcomes are reported to a {@link SimulationListener}, so the
+ * same engine runs behind the JavaFX {@link Game} and in
+ * {@link HeadlessSimulation}.
+ */
+public class SimulationEngine {
+    private GameModel gameModel;
+    private final Loader loader;
+    private final SimulationListener listener;
+    private final ArrayList<InteractionResult> interactionResults;
+    private final List<ContactBuffer> workerContacts = new ArrayList<>();
+    private final List<List<Entity>> workerCandidates = new ArrayList<>();
+    private final ProjectileSweep projectileSweep = new ProjectileSweep();
+    private final ProjectileSweep.HitListener projectileHits = new ProjectileSweep.HitListener() {
+        @Override
+        public void onEnemyHit(Projectile projectile, Enemy enemy) {
+            interactionResults.add(projectile.interact(enemy));
+        }
+
+        @Override
+        public void onWallHit(Projectile projectile) {
+            projectile.markForRemoval();
+        }
+    };
+    private final TickWorkerPool.PhaseTask movementPhase = this::moveEntities;
+    private final TickWorkerPool.PhaseTask tilePhase = this::resolveTiles;
+    private final TickWorkerPool.PhaseTask detectPhase = this::detectContacts;
+    private TickWorkerPool workerPool;
+    private FrameProfiler profiler = new FrameProfiler(null);
+    private FrameView frame;
+    private double tickStepMillis;
+    private double tickPlayerX;
+    private double tickPlayerY;
+    private double worldWidth;
+    private double worldHeight;
+    private int level;
+    private boolean running;
+    private CompletableFuture<Loader.PreparedLevel> nextLevel;
+
+    public SimulationEngine(GameModel gameModel, Loader loader, SimulationListener listener) {
+        this.gameModel = gameModel;
+        this.loader = loader;
+        this.listener = listener;
+        this.interactionResults = new ArrayList<>();
+        this.level = STARTING_LEVEL;
+    }
+
+    /**
+     * Load the first level and start accepting ticks.
+     */
+    public void start() {
+        level = STARTING_LEVEL;
+        interactionResults.clear();
+        if (workerPool == null || workerPool.isShutdown()) {
+            workerPool = new TickWorkerPool(Math.min(MAX_TICK_WORKERS, Runtime.getRuntime().availableProcessors()));
+            workerContacts.clear();
+            workerCandidates.clear();
+            for (int i = 0; i < workerPool.getWorkerCount(); i++) {
+                workerContacts.add(new ContactBuffer());
+                workerCandidates.add(new ArrayList<>());
+            }
+        }
+        loader.loadDungeon(level);
+        running = gameModel.getPlayer() != null;
+        prefetchNextLevel();
+    }
+
+    /**
+     * Stop the simulation and release its worker threads.
+     */
+    public void stop() {
+        running = false;
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        nextLevel = null;
+        loader.shutdown();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public GameModel getGameModel() {
+        return gameModel;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @param profiler The profiler the tick phases are recorded in, shared with
+     *                 the renderer so a frame is timed in one place
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Advance the simulation by one fixed step.
+     *
+     * @param stepMillis The length of the step in milliseconds.
+     */
+    public void tick(double stepMillis) {
+        if (!running) {
+            return;
+        }
+        frame = gameModel.getFrameView();
+        storePreviousPositions();
+
+        long start = profiler.start();
+        updateMovement(stepMillis);
+        profiler.stop(FramePhase.MOVEMENT, start);
+
+        start = profiler.start();
+        processCollisions();
+        profiler.stop(FramePhase.COLLISIONS, start);
+
+        start = profiler.start();
+        updateGameState();
+        profiler.stop(FramePhase.GAME_STATE, start);
+    }
+
+    /**
+     * Run up to the given number of ticks back to back, stopping early if the
+     * game ends.
+     *
+     * @param ticks      The number of ticks to run.
+     * @param stepMillis The length of each step in milliseconds.
+     * @return The number of ticks actually run.
+     */
+    public int runTicks(int ticks, double stepMillis) {
+        int completed = 0;
+        while (completed < ticks && running) {
+            tick(stepMillis);
+            completed++;
+        }
+        return completed;
+    }
+
+    private void storePreviousPositions() {
+        frame.getPlayer().storePreviousPosition();
+        for (Entity entity : frame.getEntities()) {
+            entity.storePreviousPosition();
+        }
+    }
+
+    private void updateMovement(double timeElapsedMilli) {
+        Player player = frame.getPlayer();
+        tickStepMillis = timeElapsedMilli;
+        // Enemies chase the player's position from the start of the tick
+        tickPlayerX = player.getPositionX();
+        tickPlayerY = player.getPositionY();
+        // Without a level there is no edge for projectiles to leave through
+        boolean hasLevel = gameModel.getTileOccupancy() != null;
+        worldWidth = hasLevel ? gameModel.getWorldWidth() : Double.POSITIVE_INFINITY;
+        worldHeight = hasLevel ? gameModel.getWorldHeight() : Double.POSITIVE_INFINITY;
+
+        try {
+            workerPool.runPhase(movementPhase);
+        } catch (RuntimeException e) {
+            System.err.println(MOVEMENT_UPDATE_FAILED + ": " + e.getCause());
+        }
+    }
+
+    /**
+     * Move the enemies to their new cells. Other entities in the hash never
+     * leave the cells they were inserted in.
+     */
+    private void updateSpatialHash() {
+        SpatialHash spatialHash = gameModel.getSpatialHash();
+        for (Enemy enemy : frame.getEnemies()) {
+            spatialHash.update(enemy);
+        }
+    }
+
+    /**
+     * Move the player and one partition of the other entities. Projectiles move
+     * in the direction they were fired, enemies move towards the player and
+     * wells advance their animation.
+     */
+    private void moveEntities(int workerIndex, int workerCount) {
+        if (workerIndex == 0) {
+            frame.getPlayer().move(tickStepMillis);
+        }
+
+        List<Projectile> projectiles = frame.getProjectiles();
+        int end = TickWorkerPool.partitionEnd(projectiles.size(), workerIndex, workerCount);
+        for (int i = TickWorkerPool.partitionStart(projectiles.size(), workerIndex, workerCount); i < end; i++) {
+            projectiles.get(i).updatePosition(tickStepMillis, worldWidth, worldHeight);
+        }
+
+        List<Enemy> enemies = frame.getEnemies();
+        end = TickWorkerPool.partitionEnd(enemies.size(), workerIndex, workerCount);
+        for (int i = TickWorkerPool.partitionStart(enemies.size(), workerIndex, workerCount); i < end; i++) {
+            Enemy enemy = enemies.get(i);
+            enemy.move(tickStepMillis, tickPlayerX, tickPlayerY);
+            enemy.update(tickStepMillis / MILLIS_TO_SECONDS);
+        }
+
+        List<Well> wells = frame.getWells();
+        end = TickWorkerPool.partitionEnd(wells.size(), workerIndex, workerCount);
+        for (int i = TickWorkerPool.partitionStart(wells.size(), workerIndex, workerCount); i < end; i++) {
+            wells.get(i).update(tickStepMillis / MILLIS_TO_SECONDS);
+        }
+    }
+
+    /**
+     * Run the collision pipeline of a tick.
+     *
+     * Every entity is first pushed out of the walls by the worker that owns it.
+     * A parallel detect phase then only reads positions and records the pairs
+     * that overlap in per-worker buffers. Finally the pairs are applied on this
+     * thread in a fixed order, so interactions and position corrections never
+     * race and the outcome does not depend on the number of workers.
+     */
+    private void processCollisions() {
+        runCollisionPhase(tilePhase);
+        updateSpatialHash();
+        runCollisionPhase(detectPhase);
+        applyContacts();
+        projectileCollisionCheck();
+    }
+
+    private void updateGameState() {
+        processInteractionResults();
+        removeDeadEntities();
+
+        if (gameModel.getPlayer().isDead()) {
+            running = false;
+            listener.onPlayerDied();
+        }
+    }
+
+    /**
+     * Push the player and one partition of the enemies out of blocked tiles.
+     * Each worker only moves the entities of its own partition.
+     */
+    private void resolveTiles(int workerIndex, int workerCount) {
+        TileOccupancy tileOccupancy = gameModel.getTileOccupancy();
+        if (tileOccupancy == null) {
+            return;
+        }
+        if (workerIndex == 0) {
+            tileOccupancy.resolve(frame.getPlayer());
+        }
+
+        List<Enemy> enemies = frame.getEnemies();
+        int end = TickWorkerPool.partitionEnd(enemies.size(), workerIndex, workerCount);
+        for (int i = TickWorkerPool.partitionStart(enemies.size(), workerIndex, workerCount); i < end; i++) {
+            tileOccupancy.resolve(enemies.get(i));
+        }
+    }
+
+    /**
+     * Find the elements overlapping the player and one partition of the
+     * enemies. Only reads the entities; the pairs go into the buffer of the
+     * worker, the player's first, then the enemies in list order.
+     */
+    private void detectContacts(int workerIndex, int workerCount) {
+        SpatialHash spatialHash = gameModel.getSpatialHash();
+        EntityStore store = gameModel.getEntityStore();
+        ContactBuffer contacts = workerContacts.get(workerIndex);
+        List<Entity> candidates = workerCandidates.get(workerIndex);
+
+        if (workerIndex == 0) {
+            detectContacts(frame.getPlayer(), spatialHash, store, candidates, contacts);
+        }
+
+        List<Enemy> enemies = frame.getEnemies();
+        int end = TickWorkerPool.partitionEnd(enemies.size(), workerIndex, workerCount);
+        for (int i = TickWorkerPool.partitionStart(enemies.size(), workerIndex, workerCount); i < end; i++) {
+            detectContacts(enemies.get(i), spatialHash, store, candidates, contacts);
+        }
+    }
+
+    /**
+     * Narrow phase over the candidates of the spatial hash. Attached entities
+     * are tested on the type and bounds columns of the store, without a
+     * virtual getter per coordinate.
+     */
+    private void detectContacts(Entity mover, SpatialHash spatialHash, EntityStore store,
+            List<Entity> candidates, ContactBuffer contacts) {
+        candidates.clear();
+        spatialHash.query(mover, candidates);
+        int moverSlot = mover.getStoreIndex();
+        for (int i = 0; i < candidates.size(); i++) {
+            Entity candidate = candidates.get(i);
+            int slot = candidate.getStoreIndex();
+            boolean contact = moverSlot >= 0 && slot >= 0
+                    ? EntityStore.isElementType(store.getType(slot)) && store.overlaps(moverSlot, slot)
+                    : candidate instanceof GameElement && CollisionDetection.Aabb(mover, candidate);
+            if (contact) {
+                contacts.add(mover, (GameElement) candidate);
+            }
+        }
+    }
+
+    /**
+     * @return true if the bounds of two entities overlap, read from the store
+     *         columns when both are attached
+     */
+    private boolean overlaps(Entity a, Entity b) {
+        int slotA = a.getStoreIndex();
+        int slotB = b.getStoreIndex();
+        if (slotA >= 0 && slotB >= 0) {
+            return gameModel.getEntityStore().overlaps(slotA, slotB);
+        }
+        return CollisionDetection.Aabb(a, b);
+    }
+
+    /**
+     * Apply the detected contacts in worker order, which is the order of the
+     * movers in the frame. A pair is skipped if an earlier correction already
+     * separated it.
+     */
+    private void applyContacts() {
+        for (ContactBuffer contacts : workerContacts) {
+            for (int i = 0; i < contacts.size(); i++) {
+                applyContact(contacts.getMover(i), contacts.getElement(i));
+            }
+            contacts.clear();
+        }
+    }
+
+    /**
+     * Record the interaction of a moving entity with an element it overlaps,
+     * and push it back out if the element is solid.
+     *
+     * @param mover       The entity that moved (the player or an enemy)
+     * @param gameElement The element it ran into
+     */
+    private void applyContact(Entity mover, GameElement gameElement) {
+        if (!overlaps(mover, gameElement)) {
+            return;
+        }
+
+        InteractionResult result = gameElement.interact(mover);
+        if (result != null) {
+            interactionResults.add(result);
+        }
+
+        if (gameElement.isOccupying()) {
+            CollisionDetection.resolveCollision(mover, gameElement);
+            TileOccupancy tileOccupancy = gameModel.getTileOccupancy();
+            if (tileOccupancy != null) {
+                tileOccupancy.clamp(mover);
+            }
+        }
+    }
+
+    /**
+     * Check the paths of the projectiles against the enemies and the walls.
+     *
+     * Runs after the enemies have been resolved, so both the projectiles and the
+     * enemies are swept from their positions at the start of the tick to their
+     * final ones. A fast projectile cannot pass through an enemy between ticks.
+     */
+    private void projectileCollisionCheck() {
+        projectileSweep.sweep(frame.getProjectiles(), frame.getEnemies(), gameModel.getTileOccupancy(),
+                projectileHits);
+    }
+
+    private void runCollisionPhase(TickWorkerPool.PhaseTask phase) {
+        try {
+            workerPool.runPhase(phase);
+        } catch (RuntimeException e) {
+            System.err.println(COLLISION_CHECK_FAILED + ": " + e.getCause());
+        }
+    }
+
+    /**
+     * Process the results of interactions.
+     *
+     * This method will process the results of interactions between the player and
+     * other entities in the game.
+     */
+    private void processInteractionResults() {
+        // Use an explicit iterator for safe removal
+        Iterator<InteractionResult> iterator = interactionResults.iterator();
+        while (iterator.hasNext()) {
+            InteractionResult result = iterator.next();
+            if (result != null) {
+                if (result.getGameWon()) {
+                    processWinResult();
+                }
+                if (result.getLevelUp()) {
+                    if (processLevelUpResult(result, iterator)) {
+                        return; // Exit early after reloading to avoid further processing
+                    }
+                }
+                if (result.getHeal()) {
+                    processHealResult(result);
+                }
+                if (result.getTakeDamage()) {
+                    processDamageResult(result);
+                }
+            }
+            iterator.remove();
+        }
+    }
+
+    private void processWinResult() {
+        running = false;
+        listener.onGameWon();
+    }
+
+    private boolean processLevelUpResult(InteractionResult result, Iterator<InteractionResult> iterator) {
+        iterator.remove();
+        level += LEVEL_INCREMENT;
+        Loader.PreparedLevel prepared = nextLevel == null ? null : nextLevel.handle((next, error) -> next).join();
+        if (prepared != null && prepared.getLevel() == level) {
+            loader.activate(prepared);
+        } else {
+            // Not prefetched or the build failed, load it on this thread
+            loader.loadDungeon(level);
+        }
+        if (loader.getGameModel() != gameModel) {
+            gameModel = loader.getGameModel();
+            listener.onLevelChanged(gameModel);
+        }
+        prefetchNextLevel();
+        return true; // Indicates early return needed
+    }
+
+    /**
+     * Start building the level after the current one in the background, so
+     * reaching the ladder only swaps models.
+     */
+    private void prefetchNextLevel() {
+        nextLevel = running ? loader.prefetch(level + LEVEL_INCREMENT) : null;
+    }
+
+    private void processHealResult(InteractionResult result) {
+        Entity sourceEntity = result.getSource();
+        if (sourceEntity instanceof Well) {
+            Well well = (Well) sourceEntity;
+            gameModel.getPlayer().heal(well.getHealAmount());
+        }
+    }
+
+    private void processDamageResult(InteractionResult result) {
+        if (result.getEntity() instanceof Player) {
+            ((Player) result.getEntity()).takeDamage(DEFAULT_DAMAGE);
+        }
+        if (result.getEntity() instanceof Enemy) {
+            Enemy enemy = (Enemy) result.getEntity();
+            enemy.takeDamage(DEFAULT_DAMAGE);
+
+            if (enemy.isDead()) {
+                listener.onEnemyKilled(enemy);
+            }
+        }
+    }
+
+    /**
+     * Remove dead entities from the game.
+     *
+     * This method will remove dead entities from the game. Dead entities are
+     * entities that have been marked as dead and should be removed from the game.
+     */
+    private void removeDeadEntities() {
+        synchronized (gameModel.getEntities()) {
+            Iterator<Entity> iterator = gameModel.getEntities().iterator();
+            while (iterator.hasNext()) {
+                Entity entity = iterator.next();
+                if ((entity instanceof Enemy && ((Enemy) entity).isDead()) ||
+                        (entity instanceof Player && ((Player) entity).isDead()) ||
+                        (entity instanceof Projectile && ((Projectile) entity).shouldRemove())) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package rougelike.game;
+
+import rougelike.game.entities.Enemy;
+
+/**
+ * Receives the outcome events of a {@link SimulationEngine} tick.
+ * Implementations decide how to present them (menus, effects, logging).
+ */
+public interface SimulationListener {
+    /**
+     * Called when the player reaches the exit of the dungeon.
+     */
+    void onGameWon();
+
+    /**
+     * Called when the player's health drops to zero.
+     */
+    void onPlayerDied();
+
+    /**
+     * Called when an enemy is killed during interaction processing.
+     *
+     * @param enemy The enemy that died, still at its final position
+     */
+    void onEnemyKilled(Enemy enemy);
+
+    /**
+     * Called when a prefetched level replaced the game model, so views can
+     * follow the new one.
+     *
+     * @param gameModel The game model of the new level
+     */
+    default void onLevelChanged(GameModel gameModel) {
+    }
+}
@@ -0,0 +1,110 @@
+package rougelike.game;
+
+import static rougelike.game.GameConstants.*;
+
+import java.util.List;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import rougelike.Global;
+import rougelike.game.entities.Player;
+import rougelike.game.entities.PlayerStatusListener;
+import rougelike.game.graphics.RenderLayer;
+
+/**
+ * The HP, AP and inventory line below the game area.
+ *
+ * The bar lives on its own {@link RenderLayer} and is only redrawn when the
+ * player it is bound to reports a change, so the texts are built once per
+ * change instead of once per frame. Notifications arrive during a simulation
+ * tick and only invalidate the layer; {@link #render()} repaints it on the
+ * next frame.
+ */
+public class StatusBar implements PlayerStatusListener {
+    private static final Font FONT = Font.font("Arial", FontWeight.NORMAL, STATUS_BAR_FONT_SIZE);
+
+    private final RenderLayer layer = new RenderLayer(Global.WINDOW_WIDTH, Global.STATUS_BAR_HEIGHT);
+    private Player player;
+    private String hpText = "";
+    private String apText = "";
+    private String inventoryText = "";
+
+    public Canvas getCanvas() {
+        return layer.getCanvas();
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Show the status of a player, e.g. after a level change replaced it.
+     */
+    public void bind(Player player) {
+        if (this.player == player) {
+            return;
+        }
+        if (this.player != null) {
+            this.player.removeStatusListener(this);
+        }
+        this.player = player;
+        if (player != null) {
+            player.addStatusListener(this);
+        }
+        layer.invalidate();
+    }
+
+    @Override
+    public void onPlayerStatusChanged(Player player) {
+        layer.invalidate();
+    }
+
+    /**
+     * @return true if the bar has to be repainted on the next frame
+     */
+    public boolean isInvalid() {
+        return layer.isInvalid();
+    }
+
+    /**
+     * Repaint the bar if the player changed since the last call.
+     *
+     * @return true if the bar was repainted
+     */
+    public boolean render() {
+        if (!layer.isInvalid()) {
+            return false;
+        }
+        layer.markValid();
+        if (player != null) {
+            hpText = formatHp(player.getHealth());
+            apText = formatAp(player.getPlayerDamage());
+            inventoryText = formatInventory(player.getInventory());
+        }
+
+        GraphicsContext gc = layer.getGraphicsContext();
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, Global.WINDOW_WIDTH, Global.STATUS_BAR_HEIGHT);
+        gc.setFill(Color.WHITE);
+        gc.setFont(FONT);
+        gc.fillText(hpText, HP_TEXT_X, STATUS_BAR_TEXT_Y_OFFSET);
+        gc.fillText(apText, AP_TEXT_X, STATUS_BAR_TEXT_Y_OFFSET);
+        gc.fillText(inventoryText, INVENTORY_TEXT_X, STATUS_BAR_TEXT_Y_OFFSET);
+        return true;
+    }
+
+    static String formatHp(int health) {
+        return "HP: " + health;
+    }
+
+    static String formatAp(int damage) {
+        return "AP: " + damage;
+    }
+
+    static String formatInventory(List<String> inventory) {
+        return "Inventory: " + String.join(", ", inventory);
+    }
+}
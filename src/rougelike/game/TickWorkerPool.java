@@ -0,0 +1,134 @@
+package rougelike.game;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Long-lived group of worker threads that run the parallel phases of a tick.
+ *
+ * Instead of submitting new tasks to an executor every frame, the workers stay
+ * parked on a {@link Phaser} between phases. {@link #runPhase} publishes a task,
+ * releases the workers through the start barrier, runs partition 0 on the
+ * calling thread and waits at the end barrier until every partition is done.
+ * Each worker always handles the same partition index, so per-worker buffers
+ * can be allocated once and reused every tick.
+ */
+public class TickWorkerPool {
+
+    /**
+     * Work for one phase, split into {@code workerCount} partitions.
+     */
+    public interface PhaseTask {
+        /**
+         * Run one partition of the phase.
+         *
+         * @param workerIndex The partition to run, from 0 to workerCount - 1
+         * @param workerCount The total number of partitions
+         */
+        void run(int workerIndex, int workerCount);
+    }
+
+    private final Thread[] workers;
+    private final Phaser phaser;
+    private final int workerCount;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private PhaseTask currentTask;
+    private boolean shutdown;
+
+    /**
+     * @param workerCount The number of partitions per phase, including the one
+     *                    run by the calling thread. Must be positive.
+     */
+    public TickWorkerPool(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        this.workerCount = workerCount;
+        this.phaser = new Phaser(workerCount);
+        this.workers = new Thread[workerCount - 1];
+        for (int i = 0; i < workers.length; i++) {
+            int workerIndex = i + 1;
+            workers[i] = new Thread(() -> workerLoop(workerIndex), "tick-worker-" + workerIndex);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Run a phase on all workers and wait for it to complete. Must only be
+     * called from the thread that drives the simulation.
+     *
+     * @param task The phase to run
+     * @throws IllegalStateException if the pool has been shut down
+     * @throws RuntimeException wrapping the first failure of any partition
+     */
+    public void runPhase(PhaseTask task) {
+        if (shutdown) {
+            throw new IllegalStateException("Worker pool has been shut down");
+        }
+        currentTask = task;
+        phaser.arriveAndAwaitAdvance();
+        runPartition(task, 0);
+        phaser.arriveAndAwaitAdvance();
+        currentTask = null;
+
+        Throwable error = failure.getAndSet(null);
+        if (error != null) {
+            throw new RuntimeException("Tick phase failed", error);
+        }
+    }
+
+    /**
+     * Release the worker threads. The pool cannot be used afterwards.
+     */
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        // Releases the parked workers, which then see the terminated phaser and exit
+        phaser.forceTermination();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void workerLoop(int workerIndex) {
+        while (true) {
+            phaser.arriveAndAwaitAdvance();
+            if (phaser.isTerminated()) {
+                return;
+            }
+            runPartition(currentTask, workerIndex);
+            phaser.arriveAndAwaitAdvance();
+        }
+    }
+
+    private void runPartition(PhaseTask task, int workerIndex) {
+        try {
+            task.run(workerIndex, workerCount);
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+    }
+
+    /**
+     * @return The first index of a partition of {@code size} elements.
+     */
+    public static int partitionStart(int size, int workerIndex, int workerCount) {
+        return (int) ((long) size * workerIndex / workerCount);
+    }
+
+    /**
+     * @return The index after the last element of a partition of {@code size}
+     *         elements.
+     */
+    public static int partitionEnd(int size, int workerIndex, int workerCount) {
+        return partitionStart(size, workerIndex + 1, workerCount);
+    }
+}
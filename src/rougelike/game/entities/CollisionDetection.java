@@ -1,14 +1,10 @@
 package rougelike.game.entities;
 
-import rougelike.Global;
-import rougelike.game.GameModel;
-
 public class CollisionDetection {
-    private static final double GAME_BOUNDARY_LEFT = 0 + GameModel.getTileWidth();
-    private static final double GAME_BOUNDARY_TOP = 0 + GameModel.getTileHeight();
-    private static final double GAME_BOUNDARY_RIGHT = Global.WINDOW_WIDTH - GameModel.getTileWidth(); // Example width
-    private static final double GAME_BOUNDARY_BOTTOM = Global.WINDOW_HEIGHT - GameModel.getTileHeight(); // Example
-                                                                                                        // height
+    /**
+     * Returned by the swept tests when the boxes do not meet.
+     */
+    public static final double NO_HIT = -1;
 
     /**
      * @param a an entity
@@ -22,6 +18,58 @@ public class CollisionDetection {
                 b.getPositionY() + b.getHeight() > a.getPositionY();
     }
 
+    /**
+     * Time of impact between a moving box and a static box, using the same
+     * strict overlap rule as {@link #Aabb}.
+     *
+     * @param x      The left edge of the moving box at the start of the sweep.
+     * @param y      The top edge of the moving box at the start of the sweep.
+     * @param width  The width of the moving box.
+     * @param height The height of the moving box.
+     * @param dx     The horizontal distance moved during the sweep.
+     * @param dy     The vertical distance moved during the sweep.
+     * @param bx     The left edge of the static box.
+     * @param by     The top edge of the static box.
+     * @param bw     The width of the static box.
+     * @param bh     The height of the static box.
+     * @return The fraction of the sweep in [0, 1] at which the boxes first
+     *         overlap, or {@link #NO_HIT} if they do not overlap during it.
+     */
+    public static double sweptAabb(double x, double y, double width, double height, double dx, double dy,
+            double bx, double by, double bw, double bh) {
+        // Sweep the top left corner of the moving box against the static box
+        // grown by the size of the moving box
+        double entry = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        if (dx == 0) {
+            if (x <= bx - width || x >= bx + bw) {
+                return NO_HIT;
+            }
+        } else {
+            double t1 = (bx - width - x) / dx;
+            double t2 = (bx + bw - x) / dx;
+            entry = Math.min(t1, t2);
+            exit = Math.max(t1, t2);
+        }
+
+        if (dy == 0) {
+            if (y <= by - height || y >= by + bh) {
+                return NO_HIT;
+            }
+        } else {
+            double t1 = (by - height - y) / dy;
+            double t2 = (by + bh - y) / dy;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        if (entry >= exit || entry > 1 || exit <= 0) {
+            return NO_HIT;
+        }
+        return Math.max(entry, 0);
+    }
+
     /**
      * Resolves the collision between two entities by calculating the minimum
      * translation vector needed to separate them.
@@ -30,57 +78,74 @@ public class CollisionDetection {
      * @param staticEntity The entity it collided with (e.g., a wall or enemy).
      */
     public static void resolveCollision(Entity movingEntity, Entity staticEntity) {
-        double overlapX = calculateHorizontalOverlap(movingEntity, staticEntity);
-        double overlapY = calculateVerticalOverlap(movingEntity, staticEntity);
+        resolveCollision(movingEntity, staticEntity.getPositionX(), staticEntity.getPositionY(),
+                staticEntity.getWidth(), staticEntity.getHeight());
+    }
+
+    /**
+     * Resolves the collision between an entity and a static rectangle, such as
+     * a blocked tile.
+     *
+     * @param movingEntity The entity being moved.
+     * @param x            The left edge of the rectangle.
+     * @param y            The top edge of the rectangle.
+     * @param width        The width of the rectangle.
+     * @param height       The height of the rectangle.
+     */
+    public static void resolveCollision(Entity movingEntity, double x, double y, double width, double height) {
+        double overlapX = calculateHorizontalOverlap(movingEntity, x, width);
+        double overlapY = calculateVerticalOverlap(movingEntity, y, height);
 
         if (Math.abs(overlapX) < Math.abs(overlapY)) {
             movingEntity.setPositionX(movingEntity.getPositionX() + overlapX);
         } else {
             movingEntity.setPositionY(movingEntity.getPositionY() + overlapY);
         }
-
-        // Clamp the position to prevent moving out of bounds
-        clampPosition(movingEntity);
     }
 
     /**
-     * Clamps the position of the entity within the game boundaries.
+     * Clamps the position of the entity within a rectangle of the world, so a
+     * collision response can never push it out of the level.
      *
      * @param entity The entity to clamp.
+     * @param left   The smallest allowed left edge.
+     * @param top    The smallest allowed top edge.
+     * @param right  The largest allowed right edge.
+     * @param bottom The largest allowed bottom edge.
      */
-    private static void clampPosition(Entity entity) {
-        double clampedX = Math.max(GAME_BOUNDARY_LEFT,
-                Math.min(entity.getPositionX(), GAME_BOUNDARY_RIGHT - entity.getWidth()));
-        double clampedY = Math.max(GAME_BOUNDARY_TOP,
-                Math.min(entity.getPositionY(), GAME_BOUNDARY_BOTTOM - entity.getHeight()));
+    public static void clampPosition(Entity entity, double left, double top, double right, double bottom) {
+        double clampedX = Math.max(left, Math.min(entity.getPositionX(), right - entity.getWidth()));
+        double clampedY = Math.max(top, Math.min(entity.getPositionY(), bottom - entity.getHeight()));
 
         entity.setPositionX(clampedX);
         entity.setPositionY(clampedY);
     }
 
     /**
-     * Calculates the horizontal overlap between two entities.
+     * Calculates the horizontal overlap between an entity and a rectangle.
      *
-     * @param a The first entity.
-     * @param b The second entity.
+     * @param a     The entity.
+     * @param x     The left edge of the rectangle.
+     * @param width The width of the rectangle.
      * @return The horizontal overlap distance.
      */
-    private static double calculateHorizontalOverlap(Entity a, Entity b) {
-        double leftOverlap = a.getPositionX() + a.getWidth() - b.getPositionX();
-        double rightOverlap = b.getPositionX() + b.getWidth() - a.getPositionX();
+    private static double calculateHorizontalOverlap(Entity a, double x, double width) {
+        double leftOverlap = a.getPositionX() + a.getWidth() - x;
+        double rightOverlap = x + width - a.getPositionX();
         return leftOverlap < rightOverlap ? -leftOverlap : rightOverlap;
     }
 
     /**
-     * Calculates the vertical overlap between two entities.
+     * Calculates the vertical overlap between an entity and a rectangle.
      *
-     * @param a The first entity.
-     * @param b The second entity.
+     * @param a      The entity.
+     * @param y      The top edge of the rectangle.
+     * @param height The height of the rectangle.
      * @return The vertical overlap distance.
      */
-    private static double calculateVerticalOverlap(Entity a, Entity b) {
-        double topOverlap = a.getPositionY() + a.getHeight() - b.getPositionY();
-        double bottomOverlap = b.getPositionY() + b.getHeight() - a.getPositionY();
+    private static double calculateVerticalOverlap(Entity a, double y, double height) {
+        double topOverlap = a.getPositionY() + a.getHeight() - y;
+        double bottomOverlap = y + height - a.getPositionY();
         return topOverlap < bottomOverlap ? -topOverlap : bottomOverlap;
     }
 }
@@ -8,12 +8,9 @@ import javafx.scene.image.Image;
 import rougelike.game.graphics.ImageSprite;
 
 public class Enemy extends GameElement {
-    private int health;
     private int damage;
     private double previousPositionX;
     private double previousPositionY;
-    private double velocityX;
-    private double velocityY;
     private double speed; 
     private double detectionRadius;
     private static final Duration attackSpeed = Duration.ofMillis(500);
@@ -23,7 +20,7 @@ public class Enemy extends GameElement {
     public Enemy(double positionX, double positionY, double width, double height, Image[] animationFrames, int health, int damage,
             double speed, double detectionRadius, double timePerImage) {
         super(positionX, positionY, width, height, animationFrames[0]);
-        this.health = health;
+        setHealthPoints(health);
         this.damage = damage;
         this.speed = speed;
         this.detectionRadius = detectionRadius;
@@ -35,7 +32,7 @@ public class Enemy extends GameElement {
         Instant now = Instant.now();
         if (lastEventTime == null || Duration.between(lastEventTime, now).compareTo(attackSpeed) >= 0) {
             if (amount > 0) {
-                health -= amount;
+                setHealthPoints(getHealthPoints() - amount);
             }
             lastEventTime = now;
             if (isDead()) {
@@ -44,7 +41,7 @@ public class Enemy extends GameElement {
         }
     }
 
-    public void move(long timeElapsedMilli, double playerX, double playerY) {
+    public void move(double timeElapsedMilli, double playerX, double playerY) {
         // Update position
         previousPositionX = getPositionX();
         previousPositionY = getPositionY();
@@ -57,19 +54,19 @@ public class Enemy extends GameElement {
             // If the player is within the detection radius, move toward the player
             double angleToPlayer = Math.atan2(playerY - getPositionY(), playerX - getPositionX()); 
                                                                                                   
-            velocityX = Math.cos(angleToPlayer) * speed;
-            velocityY = Math.sin(angleToPlayer) * speed;
+            setVelocityX(Math.cos(angleToPlayer) * speed);
+            setVelocityY(Math.sin(angleToPlayer) * speed);
         } else {
             // Randomly change direction with a low probability
             if (Math.random() < 0.05) { 
                 double angle = Math.random() * 2 * Math.PI;
-                velocityX = Math.cos(angle) * speed;
-                velocityY = Math.sin(angle) * speed;
+                setVelocityX(Math.cos(angle) * speed);
+                setVelocityY(Math.sin(angle) * speed);
             }
         }
 
-        setPositionX(getPositionX() + velocityX * timeElapsedMilli);
-        setPositionY(getPositionY() + velocityY * timeElapsedMilli);
+        setPositionX(getPositionX() + getVelocityX() * timeElapsedMilli);
+        setPositionY(getPositionY() + getVelocityY() * timeElapsedMilli);
     }
 
     public void undoMove() {
@@ -100,11 +97,11 @@ public class Enemy extends GameElement {
     }
 
     public int getEnemyHealth() {
-        return health;
+        return getHealthPoints();
     }
 
     public boolean isDead() {
-        return health <= 0;
+        return getHealthPoints() <= 0;
     }
 
     public double getdetectionRadius() {
@@ -115,8 +112,18 @@ public class Enemy extends GameElement {
         sprite.update(deltaTime);
     }
 
+    @Override
+    public boolean hasFrameChanged() {
+        return sprite.frameChangedSinceLastRender();
+    }
+
+    @Override
+    protected int getTypeTag() {
+        return EntityStore.TYPE_ENEMY;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
-        sprite.render(gc, getPositionX(), getPositionY(), getWidth(), getHeight());
+        sprite.render(gc, getRenderX(), getRenderY(), getWidth(), getHeight());
     }
 }
@@ -2,17 +2,30 @@ package rougelike.game.entities;
 
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import rougelike.game.graphics.RenderQueue;
 
 public abstract class Entity {
     private double positionX;
     private double positionY;
+    private double previousPositionX;
+    private double previousPositionY;
+    private double renderAlpha = 1.0;
     protected double width;
     protected double height;
+    private double velocityX;
+    private double velocityY;
+    private int healthPoints;
     private Image image;
 
+    // Set while the entity's state lives in the columns of an EntityStore
+    EntityStore store;
+    int storeIndex = -1;
+
     public Entity(double positionX, double positionY, double width, double height, Image image) {
         this.positionX = positionX;
         this.positionY = positionY;
+        this.previousPositionX = positionX;
+        this.previousPositionY = positionY;
         this.width = width;
         this.height = height;
         this.image = image;
@@ -21,35 +34,167 @@ public abstract class Entity {
     public abstract void render(GraphicsContext gc);
 
     public double getPositionX() {
-        return positionX;
+        return store != null ? store.getPositionX(storeIndex) : positionX;
     }
 
     public void setPositionX(double positionX) {
-        this.positionX = positionX;
+        if (store != null) {
+            store.setPositionX(storeIndex, positionX);
+        } else {
+            this.positionX = positionX;
+        }
     }
 
     public double getPositionY() {
-        return positionY;
+        return store != null ? store.getPositionY(storeIndex) : positionY;
     }
 
     public void setPositionY(double positionY) {
-        this.positionY = positionY;
+        if (store != null) {
+            store.setPositionY(storeIndex, positionY);
+        } else {
+            this.positionY = positionY;
+        }
+    }
+
+    /**
+     * Remember the current position as the state at the start of a simulation
+     * tick, so rendering can interpolate towards the position after the tick.
+     */
+    public void storePreviousPosition() {
+        previousPositionX = getPositionX();
+        previousPositionY = getPositionY();
+    }
+
+    /**
+     * @return The horizontal position at the start of the current tick
+     */
+    public double getPreviousPositionX() {
+        return previousPositionX;
+    }
+
+    /**
+     * @return The vertical position at the start of the current tick
+     */
+    public double getPreviousPositionY() {
+        return previousPositionY;
+    }
+
+    /**
+     * @param renderAlpha How far between the previous and the current tick the
+     *                    next render should be drawn, in the range [0, 1].
+     */
+    public void setRenderAlpha(double renderAlpha) {
+        this.renderAlpha = renderAlpha;
+    }
+
+    public double getRenderX() {
+        return previousPositionX + (getPositionX() - previousPositionX) * renderAlpha;
+    }
+
+    public double getRenderY() {
+        return previousPositionY + (getPositionY() - previousPositionY) * renderAlpha;
     }
 
     public double getWidth() {
-        return width;
+        return store != null ? store.getWidth(storeIndex) : width;
     }
 
     protected void setWidth(double width) {
         this.width = width;
+        if (store != null) {
+            store.setWidth(storeIndex, width);
+        }
     }
 
     public double getHeight() {
-        return height;
+        return store != null ? store.getHeight(storeIndex) : height;
     }
 
     protected void setHeight(double height) {
         this.height = height;
+        if (store != null) {
+            store.setHeight(storeIndex, height);
+        }
+    }
+
+    protected double getVelocityX() {
+        return store != null ? store.getVelocityX(storeIndex) : velocityX;
+    }
+
+    protected void setVelocityX(double velocityX) {
+        if (store != null) {
+            store.setVelocityX(storeIndex, velocityX);
+        } else {
+            this.velocityX = velocityX;
+        }
+    }
+
+    protected double getVelocityY() {
+        return store != null ? store.getVelocityY(storeIndex) : velocityY;
+    }
+
+    protected void setVelocityY(double velocityY) {
+        if (store != null) {
+            store.setVelocityY(storeIndex, velocityY);
+        } else {
+            this.velocityY = velocityY;
+        }
+    }
+
+    protected int getHealthPoints() {
+        return store != null ? store.getHealth(storeIndex) : healthPoints;
+    }
+
+    protected void setHealthPoints(int healthPoints) {
+        if (store != null) {
+            store.setHealth(storeIndex, healthPoints);
+        } else {
+            this.healthPoints = healthPoints;
+        }
+    }
+
+    /**
+     * @return The {@link RenderQueue} layer the entity is drawn in
+     */
+    public int getRenderLayer() {
+        return RenderQueue.LAYER_ACTORS;
+    }
+
+    /**
+     * @return true if the entity would draw another image than when it was
+     *         last rendered, even if it did not move
+     */
+    public boolean hasFrameChanged() {
+        return false;
+    }
+
+    /**
+     * @return The {@link EntityStore} type tag of this kind of entity.
+     */
+    protected int getTypeTag() {
+        return EntityStore.TYPE_ENTITY;
+    }
+
+    /**
+     * @return The slot of this entity in its {@link EntityStore}, or -1 if the
+     *         entity is not attached to a store.
+     */
+    public int getStoreIndex() {
+        return store != null ? storeIndex : -1;
+    }
+
+    /**
+     * Copy the state back from the store columns into this object.
+     */
+    void detach() {
+        positionX = store.getPositionX(storeIndex);
+        positionY = store.getPositionY(storeIndex);
+        velocityX = store.getVelocityX(storeIndex);
+        velocityY = store.getVelocityY(storeIndex);
+        healthPoints = store.getHealth(storeIndex);
+        store = null;
+        storeIndex = -1;
     }
 
     public Image getImage() {
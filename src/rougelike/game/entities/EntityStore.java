@@ -0,0 +1,232 @@
+package rougelike.game.entities;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for the simulation state of dynamic entities.
+ *
+ * Position, size, velocity, health and a type tag of every attached entity are
+ * kept in dense primitive columns. An attached {@link Entity} reads and writes
+ * its state through its slot, so the entity objects act as views over the
+ * columns while systems can run linear scans over the arrays directly. Removal
+ * swaps the last slot into the freed one to keep the columns dense.
+ *
+ * Adding and removing must happen on the thread that drives the simulation,
+ * between phases. During a phase workers may read any slot and write the slots
+ * of the entities they own.
+ */
+public class EntityStore {
+    public static final int TYPE_ENTITY = 0;
+    public static final int TYPE_PLAYER = 1;
+    public static final int TYPE_ELEMENT = 2;
+    public static final int TYPE_ENEMY = 3;
+    public static final int TYPE_PROJECTILE = 4;
+    public static final int TYPE_WELL = 5;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] positionX;
+    private double[] positionY;
+    private double[] width;
+    private double[] height;
+    private double[] velocityX;
+    private double[] velocityY;
+    private int[] health;
+    private int[] type;
+    private int[] references;
+    private Entity[] owners;
+    private int size;
+
+    public EntityStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Attach an entity, moving its state into the columns. Attaching an entity
+     * that is already attached only counts an extra reference.
+     *
+     * @param entity The entity to attach, ignored if null
+     */
+    public void add(Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        if (entity.store == this) {
+            references[entity.storeIndex]++;
+            return;
+        }
+        if (entity.store != null) {
+            throw new IllegalStateException("Entity is attached to another store");
+        }
+        if (size == owners.length) {
+            allocate(size * 2);
+        }
+
+        int index = size++;
+        positionX[index] = entity.getPositionX();
+        positionY[index] = entity.getPositionY();
+        width[index] = entity.getWidth();
+        height[index] = entity.getHeight();
+        velocityX[index] = entity.getVelocityX();
+        velocityY[index] = entity.getVelocityY();
+        health[index] = entity.getHealthPoints();
+        type[index] = entity.getTypeTag();
+        references[index] = 1;
+        owners[index] = entity;
+
+        entity.store = this;
+        entity.storeIndex = index;
+    }
+
+    /**
+     * Drop one reference to an entity. When the last reference is dropped the
+     * entity's state is copied back into the object and its slot is reused.
+     *
+     * @param entity The entity to detach, ignored if null or not attached here
+     */
+    public void remove(Entity entity) {
+        if (entity == null || entity.store != this) {
+            return;
+        }
+        int index = entity.storeIndex;
+        if (--references[index] > 0) {
+            return;
+        }
+
+        entity.detach();
+
+        int last = --size;
+        if (index != last) {
+            positionX[index] = positionX[last];
+            positionY[index] = positionY[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            velocityX[index] = velocityX[last];
+            velocityY[index] = velocityY[last];
+            health[index] = health[last];
+            type[index] = type[last];
+            references[index] = references[last];
+            owners[index] = owners[last];
+            owners[index].storeIndex = index;
+        }
+        owners[last] = null;
+    }
+
+    /**
+     * Detach every entity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            owners[i].detach();
+            owners[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Entity getOwner(int index) {
+        return owners[index];
+    }
+
+    public int getType(int index) {
+        return type[index];
+    }
+
+    /**
+     * @return true if entities with this type tag are {@link GameElement}s
+     */
+    public static boolean isElementType(int typeTag) {
+        return typeTag >= TYPE_ELEMENT;
+    }
+
+    /**
+     * AABB overlap test between two slots, equivalent to
+     * {@link CollisionDetection#Aabb} on their owners.
+     */
+    public boolean overlaps(int a, int b) {
+        return positionX[a] + width[a] > positionX[b] &&
+                positionX[b] + width[b] > positionX[a] &&
+                positionY[a] + height[a] > positionY[b] &&
+                positionY[b] + height[b] > positionY[a];
+    }
+
+    double getPositionX(int index) {
+        return positionX[index];
+    }
+
+    void setPositionX(int index, double value) {
+        positionX[index] = value;
+    }
+
+    double getPositionY(int index) {
+        return positionY[index];
+    }
+
+    void setPositionY(int index, double value) {
+        positionY[index] = value;
+    }
+
+    double getWidth(int index) {
+        return width[index];
+    }
+
+    void setWidth(int index, double value) {
+        width[index] = value;
+    }
+
+    double getHeight(int index) {
+        return height[index];
+    }
+
+    void setHeight(int index, double value) {
+        height[index] = value;
+    }
+
+    double getVelocityX(int index) {
+        return velocityX[index];
+    }
+
+    void setVelocityX(int index, double value) {
+        velocityX[index] = value;
+    }
+
+    double getVelocityY(int index) {
+        return velocityY[index];
+    }
+
+    void setVelocityY(int index, double value) {
+        velocityY[index] = value;
+    }
+
+    int getHealth(int index) {
+        return health[index];
+    }
+
+    void setHealth(int index, int value) {
+        health[index] = value;
+    }
+
+    private void allocate(int capacity) {
+        positionX = grow(positionX, capacity);
+        positionY = grow(positionY, capacity);
+        width = grow(width, capacity);
+        height = grow(height, capacity);
+        velocityX = grow(velocityX, capacity);
+        velocityY = grow(velocityY, capacity);
+        health = grow(health, capacity);
+        type = grow(type, capacity);
+        references = grow(references, capacity);
+        owners = owners == null ? new Entity[capacity] : Arrays.copyOf(owners, capacity);
+    }
+
+    private static double[] grow(double[] column, int capacity) {
+        return column == null ? new double[capacity] : Arrays.copyOf(column, capacity);
+    }
+
+    private static int[] grow(int[] column, int capacity) {
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
@@ -3,6 +3,7 @@ package rougelike.game.entities;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import rougelike.game.graphics.ImageSprite;
+import rougelike.game.graphics.RenderQueue;
 
 public class Exit extends GameElement {
     private ImageSprite sprite;
@@ -31,6 +32,11 @@ public class Exit extends GameElement {
         return new InteractionResult(interactionResultType, entity);
     }
 
+    @Override
+    public int getRenderLayer() {
+        return RenderQueue.LAYER_GROUND;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         sprite.render(gc, getPositionX(), getPositionY(), getWidth(), getHeight());
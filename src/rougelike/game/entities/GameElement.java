@@ -7,6 +7,11 @@ public abstract class GameElement extends Entity {
         super(positionX, positionY, width, height, image);
     }
 
+    @Override
+    protected int getTypeTag() {
+        return EntityStore.TYPE_ELEMENT;
+    }
+
     public abstract boolean isOccupying();
 
     public abstract InteractionResult interact(Entity entity);
@@ -1,17 +1,84 @@
 package rougelike.game.entities;
 
+import static rougelike.game.GameConstants.EXPLOSION_FRAME_COUNT;
+import static rougelike.game.GameConstants.EXPLOSION_SPRITE_PATH;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import javafx.scene.image.Image;
 import rougelike.game.PlatformUtils;
+import rougelike.game.graphics.AssetCache;
+import rougelike.game.graphics.AssetLoader;
+import rougelike.game.graphics.SpriteSheetSlicer;
+import rougelike.game.graphics.TextureAtlas;
 
+/**
+ * The images and animation frames of the game, by map character.
+ *
+ * In production only the paths are registered up front. Images are loaded
+ * into an {@link AssetCache} on their first request and decoded in the
+ * background by an {@link AssetLoader}; the cache drops the least recently
+ * used ones beyond its memory budget, except for the assets pinned by the
+ * current level. Everything known is requested at startup, and the explosion
+ * frames and the texture atlas follow once it finished. Wait for
+ * {@link #whenReady()} before starting a level.
+ *
+ * Test mode serves fixed maps of mock images through the same cache, and
+ * headless mode uses placeholder images without one.
+ */
 public class ImageDatabase {
+    private static final char EXPLOSION_KEY = 'X';
+    private static final char[] ALWAYS_PINNED_IMAGES = { ' ', 'p' };
+    private static final char[] ALWAYS_PINNED_ANIMATIONS = { 'P', 'R' };
+
     private static HashMap<Character, Image> images;
     private static HashMap<Character, Image[]> animations;
+    private static final Map<Character, String> imagePaths = new HashMap<>();
+    private static final Map<Character, String[]> animationPaths = new HashMap<>();
+    private static AssetCache<String, Image[]> cache;
+    private static Image[] explosionFrames;
+    private static AssetLoader assets;
+    private static CompletableFuture<Void> ready;
     
     // Lazy initialization to handle test mode properly
     static {
+        initialize();
+    }
+
+    private static void initialize() {
+        assets = new AssetLoader();
+        cache = null;
+        imagePaths.clear();
+        animationPaths.clear();
         initializeImages();
         initializeAnimations();
+        TextureAtlas.install(null);
+        if (!imagePaths.isEmpty() || !animationPaths.isEmpty()) {
+            cache = new AssetCache<>(ImageDatabase::loadAsset, AssetCache::imageBytes,
+                    PlatformUtils.getAssetBudgetBytes());
+            cache.setEvictionListener(ImageDatabase::releaseAsset);
+            // Warm the cache so the atlas covers every known image
+            for (char key : imagePaths.keySet()) {
+                cache.get(imageKey(key));
+            }
+            for (char key : animationPaths.keySet()) {
+                cache.get(animationKey(key));
+            }
+        } else if (PlatformUtils.isTestMode()) {
+            // Serve the mock images through a cache too, so budgets and
+            // pinning behave as in production
+            cache = new AssetCache<>(ImageDatabase::loadTestAsset, AssetCache::imageBytes,
+                    PlatformUtils.getAssetBudgetBytes());
+        }
+        ready = assets.whenLoaded().thenRun(() -> {
+            sliceExplosionFrames();
+            buildAtlas();
+        });
     }
     
     private static void initializeImages() {
@@ -29,23 +96,20 @@ public class ImageDatabase {
                 images.putAll(testImages);
             } catch (Exception e) {
                 // Fallback to basic null images if TestResourceManager not available
-                images.put(' ', null);
-                images.put('W', null);
-                images.put('E', null);
-                images.put('L', null);
-                images.put('w', null);
-                images.put('p', null);
-                images.put('e', null);
+                putPlaceholderImages();
             }
+        } else if (PlatformUtils.isHeadlessMode()) {
+            // No display, nothing to decode
+            putPlaceholderImages();
         } else {
             // Production image loading
-            images.put(' ', new Image("file:assets/misc/floor_1.png"));
-            images.put('W', new Image("file:assets/misc/wall_mid.png"));
-            images.put('E', new Image("file:assets/misc/tiny_zombie_idle_anim_f3.png"));
-            images.put('L', new Image("file:assets/misc/floor_ladder.png"));
-            images.put('w', new Image("file:assets/misc/wall_fountain_mid_blue_anim_f2.png"));
-            images.put('p', new Image("file:assets/misc/weapon_throwing_axe.png"));
-            images.put('e', new Image("file:assets/misc/crate.png"));
+            registerImage(' ', "file:assets/misc/floor_1.png");
+            registerImage('W', "file:assets/misc/wall_mid.png");
+            registerImage('E', "file:assets/misc/tiny_zombie_idle_anim_f3.png");
+            registerImage('L', "file:assets/misc/floor_ladder.png");
+            registerImage('w', "file:assets/misc/wall_fountain_mid_blue_anim_f2.png");
+            registerImage('p', "file:assets/misc/weapon_throwing_axe.png");
+            registerImage('e', "file:assets/misc/crate.png");
         }
     }
     
@@ -62,50 +126,242 @@ public class ImageDatabase {
                         .getMethod("createCharacterAnimationMap")
                         .invoke(null);
                 animations.putAll(testAnimations);
+                animations.putIfAbsent(EXPLOSION_KEY, new Image[EXPLOSION_FRAME_COUNT]);
+                explosionFrames = animations.get(EXPLOSION_KEY);
             } catch (Exception e) {
                 // Fallback to basic null animations if TestResourceManager not available
-                animations.put('E', new Image[4]);
-                animations.put('P', new Image[4]);
-                animations.put('w', new Image[3]);
-                animations.put('R', new Image[4]);
+                putPlaceholderAnimations();
             }
+        } else if (PlatformUtils.isHeadlessMode()) {
+            putPlaceholderAnimations();
         } else {
             // Production animation loading
-            animations.put('E', new Image[] {
-                new Image("file:assets/misc/big_zombie_idle_anim_f0.png"),
-                new Image("file:assets/misc/big_zombie_idle_anim_f1.png"),
-                new Image("file:assets/misc/big_zombie_idle_anim_f2.png"),
-                new Image("file:assets/misc/big_zombie_idle_anim_f3.png")
-            });
-
-            animations.put('P', new Image[] {
-                new Image("file:assets/misc/wizzard_f_idle_anim_f0.png"),
-                new Image("file:assets/misc/wizzard_f_idle_anim_f1.png"),
-                new Image("file:assets/misc/wizzard_f_idle_anim_f2.png"),
-                new Image("file:assets/misc/wizzard_f_idle_anim_f3.png")
-            });
-
-            animations.put('w', new Image[] {
-                new Image("file:assets/misc/wall_fountain_mid_blue_anim_f0.png"),
-                new Image("file:assets/misc/wall_fountain_mid_blue_anim_f1.png"),
-                new Image("file:assets/misc/wall_fountain_mid_blue_anim_f2.png")
-            });
-
-            animations.put('R', new Image[] {
-                new Image("file:assets/misc/wizzard_f_run_anim_f0.png"),
-                new Image("file:assets/misc/wizzard_f_run_anim_f1.png"),
-                new Image("file:assets/misc/wizzard_f_run_anim_f2.png"),
-                new Image("file:assets/misc/wizzard_f_run_anim_f3.png")
-            });
+            registerAnimation('E',
+                    "file:assets/misc/big_zombie_idle_anim_f0.png",
+                    "file:assets/misc/big_zombie_idle_anim_f1.png",
+                    "file:assets/misc/big_zombie_idle_anim_f2.png",
+                    "file:assets/misc/big_zombie_idle_anim_f3.png");
+
+            registerAnimation('P',
+                    "file:assets/misc/wizzard_f_idle_anim_f0.png",
+                    "file:assets/misc/wizzard_f_idle_anim_f1.png",
+                    "file:assets/misc/wizzard_f_idle_anim_f2.png",
+                    "file:assets/misc/wizzard_f_idle_anim_f3.png");
+
+            registerAnimation('w',
+                    "file:assets/misc/wall_fountain_mid_blue_anim_f0.png",
+                    "file:assets/misc/wall_fountain_mid_blue_anim_f1.png",
+                    "file:assets/misc/wall_fountain_mid_blue_anim_f2.png");
+
+            registerAnimation('R',
+                    "file:assets/misc/wizzard_f_run_anim_f0.png",
+                    "file:assets/misc/wizzard_f_run_anim_f1.png",
+                    "file:assets/misc/wizzard_f_run_anim_f2.png",
+                    "file:assets/misc/wizzard_f_run_anim_f3.png");
+
+            // Kept outside the cache and sliced into these slots once the
+            // sheet is decoded
+            explosionFrames = new Image[EXPLOSION_FRAME_COUNT];
+            assets.load(String.valueOf(EXPLOSION_KEY), EXPLOSION_SPRITE_PATH);
+        }
+    }
+
+    private static void registerImage(char key, String path) {
+        imagePaths.put(key, path);
+    }
+
+    private static void registerAnimation(char key, String... paths) {
+        animationPaths.put(key, paths);
+    }
+
+    private static String imageKey(char key) {
+        return "image:" + key;
+    }
+
+    private static String animationKey(char key) {
+        return "animation:" + key;
+    }
+
+    /**
+     * Start decoding the image or the frames behind a cache key. The cache
+     * measures them again once they have their dimensions.
+     */
+    private static Image[] loadAsset(String cacheKey) {
+        char key = cacheKey.charAt(cacheKey.length() - 1);
+        String[] paths = cacheKey.startsWith("image:")
+                ? (imagePaths.containsKey(key) ? new String[] { imagePaths.get(key) } : null)
+                : animationPaths.get(key);
+        if (paths == null) {
+            return null;
+        }
+        Image[] frames = new Image[paths.length];
+        CompletableFuture<?>[] loaded = new CompletableFuture<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            String assetKey = cacheKey + "#" + i;
+            frames[i] = assets.load(assetKey, paths[i]);
+            loaded[i] = assets.get(assetKey);
+        }
+        AssetCache<String, Image[]> owner = cache;
+        CompletableFuture.allOf(loaded).whenComplete((result, error) -> owner.updateSize(cacheKey));
+        return frames;
+    }
+
+    /**
+     * Look up a mock image or animation. Every load hands out a new array, as
+     * decoding the files again would in production.
+     */
+    private static Image[] loadTestAsset(String cacheKey) {
+        char key = cacheKey.charAt(cacheKey.length() - 1);
+        if (cacheKey.startsWith("image:")) {
+            Image image = images.get(key);
+            return image == null ? null : new Image[] { image };
+        }
+        Image[] frames = animations.get(key);
+        return frames == null ? null : frames.clone();
+    }
+
+    private static void releaseAsset(String cacheKey, Image[] frames) {
+        for (int i = 0; i < frames.length; i++) {
+            assets.release(cacheKey + "#" + i);
+        }
+    }
+
+    /**
+     * Slice the decoded explosion sheet into the frame array handed out by
+     * {@link #getExplosionFrames()}, so holders of the array see the frames.
+     */
+    private static void sliceExplosionFrames() {
+        if (PlatformUtils.isTestMode() || PlatformUtils.isHeadlessMode()) {
+            return;
+        }
+        Image sheet = assets.get(String.valueOf(EXPLOSION_KEY)).getNow(null);
+        if (sheet == null || sheet.isError()) {
+            return;
+        }
+        try {
+            Image[] frames = SpriteSheetSlicer.slice(sheet, 1, EXPLOSION_FRAME_COUNT);
+            System.arraycopy(frames, 0, explosionFrames, 0, EXPLOSION_FRAME_COUNT);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Could not load explosion frames: " + e.getMessage());
         }
     }
 
+    /**
+     * Pack every loaded image and animation frame into a texture atlas so the
+     * sprites draw from a few shared pages. Test and headless mode draw nothing
+     * and skip it.
+     */
+    private static void buildAtlas() {
+        if (PlatformUtils.isTestMode() || PlatformUtils.isHeadlessMode()) {
+            return;
+        }
+        List<Image> all = new ArrayList<>();
+        if (cache != null) {
+            for (Image[] frames : cache.snapshot().values()) {
+                for (Image frame : frames) {
+                    all.add(frame);
+                }
+            }
+        }
+        for (Image frame : explosionFrames) {
+            all.add(frame);
+        }
+        // Images that failed to load are drawn directly, as nothing
+        all.removeIf(image -> image == null || image.isError());
+        try {
+            TextureAtlas.install(TextureAtlas.pack(all, TextureAtlas.DEFAULT_PAGE_SIZE));
+        } catch (RuntimeException e) {
+            System.err.println("Could not build texture atlas, drawing images directly: " + e.getMessage());
+        }
+    }
+
+    private static void putPlaceholderImages() {
+        images.put(' ', null);
+        images.put('W', null);
+        images.put('E', null);
+        images.put('L', null);
+        images.put('w', null);
+        images.put('p', null);
+        images.put('e', null);
+    }
+
+    private static void putPlaceholderAnimations() {
+        animations.put('E', new Image[4]);
+        animations.put('P', new Image[4]);
+        animations.put('w', new Image[3]);
+        animations.put('R', new Image[4]);
+        animations.put(EXPLOSION_KEY, new Image[EXPLOSION_FRAME_COUNT]);
+        explosionFrames = animations.get(EXPLOSION_KEY);
+    }
+
     public static Image[] getAnimationFrames(char key) {
-        return animations.get(key);
+        if (cache == null) {
+            return animations.get(key);
+        }
+        return cache.get(animationKey(key));
+    }
+
+    /**
+     * @return The frames of the explosion shown where an enemy died
+     */
+    public static Image[] getExplosionFrames() {
+        return explosionFrames;
     }
 
     public static Image getImage(char key) {
-        return images.get(key);
+        if (cache == null) {
+            return images.get(key);
+        }
+        Image[] image = cache.get(imageKey(key));
+        return image == null ? null : image[0];
+    }
+
+    /**
+     * Pin the images and animations of a level in the cache, releasing the
+     * ones of the previous level. The player and projectile are always
+     * pinned.
+     *
+     * @param keys The characters used in the level layout
+     */
+    public static void pinLevelAssets(Collection<Character> keys) {
+        if (cache == null) {
+            return;
+        }
+        List<String> pinned = new ArrayList<>();
+        for (char key : ALWAYS_PINNED_IMAGES) {
+            pinned.add(imageKey(key));
+        }
+        for (char key : ALWAYS_PINNED_ANIMATIONS) {
+            pinned.add(animationKey(key));
+        }
+        for (char key : keys) {
+            pinned.add(imageKey(key));
+            pinned.add(animationKey(key));
+        }
+        // Assets the new level shares with the previous one stay loaded
+        cache.pinOnly(pinned);
+    }
+
+    /**
+     * @return The cache holding the decoded images, or null in headless mode
+     */
+    public static AssetCache<String, Image[]> getCache() {
+        return cache;
+    }
+
+    /**
+     * @return The loader decoding the images, e.g. to show its progress
+     */
+    public static AssetLoader getAssets() {
+        return assets;
+    }
+
+    /**
+     * @return A future completed once every image is decoded and the explosion
+     *         frames and texture atlas are built
+     */
+    public static CompletableFuture<Void> whenReady() {
+        return ready;
     }
     
     /**
@@ -113,7 +369,6 @@ public class ImageDatabase {
      * test and production modes.
      */
     public static void reinitialize() {
-        initializeImages();
-        initializeAnimations();
+        initialize();
     }
 }
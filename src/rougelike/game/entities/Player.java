@@ -9,28 +9,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Player extends Entity {
-    private int health;
     private int maxHealth;
     private int damage;
     private ImageSprite movingSprite;
     private ImageSprite idleSprite;
     private ImageSprite currentSprite;
+    private ImageSprite renderedSprite;
     private double movementSpeed = 0.3;
-    private double velocityX;
-    private double velocityY;
     private double facingDirectionX = 1;
     private double facingDirectionY = 0;
     private static final Duration attackSpeed = Duration.ofMillis(500);
     private Instant lastEventTime = null;
     private List<String> inventory;
+    private final List<PlayerStatusListener> statusListeners = new ArrayList<>();
 
     public Player(double positionX, double positionY, double width, double height, Image idleImage, Image[] movingFrames, Image[] idleFrames, int maxHealth, int damage) {
         super(positionX, positionY, width, height, idleImage);
-        this.health = maxHealth;
+        setHealthPoints(maxHealth);
         this.maxHealth = maxHealth;
         this.damage = damage;
-        velocityX = 0;
-        velocityY = 0;
 
         this.movingSprite = new ImageSprite(0.2, movingFrames); // Moving animation, 0.2 seconds per frame
         this.idleSprite = new ImageSprite(0.5, idleFrames);     // Idle animation, static frame
@@ -38,7 +35,9 @@ public class Player extends Entity {
         this.inventory = new ArrayList<>();
     }
 
-    public void move(long timeElapsedMilli) {
+    public void move(double timeElapsedMilli) {
+        double velocityX = getVelocityX();
+        double velocityY = getVelocityY();
 
         if (velocityX != 0 || velocityY != 0) {
             setPositionX(getPositionX() + velocityX * timeElapsedMilli);
@@ -55,16 +54,16 @@ public class Player extends Entity {
     }
 
     public void heal(int amount) {
-        health += amount;
-        if (health > maxHealth) {
-            health = maxHealth;
-        }
+        int health = Math.min(getHealthPoints() + amount, maxHealth);
+        setHealthPoints(health);
         System.out.println("Player healed by " + amount + " points. Current health: " + health);
     }
 
     public Projectile attack() {
         double directionX = 0;
         double directionY = 0;
+        double velocityX = getVelocityX();
+        double velocityY = getVelocityY();
 
         if (velocityX != 0 || velocityY != 0) {
             directionX = velocityX != 0 ? velocityX / Math.abs(velocityX) : 0;
@@ -83,7 +82,7 @@ public class Player extends Entity {
         return new Projectile(
                 getPositionX() + getWidth() / 2,
                 getPositionY() + getHeight() / 2,
-                height / 2, width / 2,
+                getHeight() / 2, getWidth() / 2,
                 ImageDatabase.getImage('p'),
                 1,
                 directionX,
@@ -94,7 +93,7 @@ public class Player extends Entity {
   public void takeDamage(int amount) {
       Instant now = Instant.now();
       if (lastEventTime == null || Duration.between(lastEventTime, now).compareTo(attackSpeed) >= 0) {
-          health -= amount;
+          setHealthPoints(getHealthPoints() - amount);
           lastEventTime = now;
           if (isDead()) {
               System.out.println("Player defeated!");
@@ -103,52 +102,52 @@ public class Player extends Entity {
   }
 
     public boolean isDead() {
-        return health <= 0;
+        return getHealthPoints() <= 0;
     }
 
 
     public void moveLeft() {
-        velocityX = -movementSpeed;
+        setVelocityX(-movementSpeed);
         facingDirectionX = -1;
-        if (velocityY == 0)
+        if (getVelocityY() == 0)
             facingDirectionY = 0;
     }
 
     public void moveRight() {
-        velocityX = movementSpeed;
+        setVelocityX(movementSpeed);
         facingDirectionX = 1;
-        if (velocityY == 0)
+        if (getVelocityY() == 0)
             facingDirectionY = 0;
     }
 
     public void moveUp() {
-        velocityY = -movementSpeed;
+        setVelocityY(-movementSpeed);
         facingDirectionY = -1;
-        if (velocityX == 0)
+        if (getVelocityX() == 0)
             facingDirectionX = 0;
     }
 
     public void moveDown() {
-        velocityY = movementSpeed;
+        setVelocityY(movementSpeed);
         facingDirectionY = 1;
-        if (velocityX == 0)
+        if (getVelocityX() == 0)
             facingDirectionX = 0;
     }
 
     public void stopMovingLeft() {
-        velocityX = 0;
+        setVelocityX(0);
     }
 
     public void stopMovingRight() {
-        velocityX = 0;
+        setVelocityX(0);
     }
 
     public void stopMovingUp() {
-        velocityY = 0;
+        setVelocityY(0);
     }
 
     public void stopMovingDown() {
-        velocityY = 0;
+        setVelocityY(0);
     }
 
     public int getPlayerDamage() {
@@ -156,7 +155,7 @@ public class Player extends Entity {
     }
 
     public int getHealth() {
-        return health;
+        return getHealthPoints();
     }
 
     public int getMaxHealth() {
@@ -164,15 +163,54 @@ public class Player extends Entity {
     }
 
     public void setHealth(int health) {
-        this.health = Math.min(health, maxHealth);
+        setHealthPoints(Math.min(health, maxHealth));
     }
 
     public List<String> getInventory() {
         return new ArrayList<>(inventory);
     }
 
+    public void addToInventory(String item) {
+        inventory.add(item);
+        fireStatusChanged();
+    }
+
+    public void addStatusListener(PlayerStatusListener listener) {
+        statusListeners.add(listener);
+    }
+
+    public void removeStatusListener(PlayerStatusListener listener) {
+        statusListeners.remove(listener);
+    }
+
+    @Override
+    protected void setHealthPoints(int healthPoints) {
+        int previous = getHealthPoints();
+        super.setHealthPoints(healthPoints);
+        if (previous != healthPoints) {
+            fireStatusChanged();
+        }
+    }
+
+    private void fireStatusChanged() {
+        for (PlayerStatusListener listener : statusListeners) {
+            listener.onPlayerStatusChanged(this);
+        }
+    }
+
+    @Override
+    public boolean hasFrameChanged() {
+        return currentSprite != renderedSprite || currentSprite.frameChangedSinceLastRender();
+    }
+
+    @Override
+    protected int getTypeTag() {
+        return EntityStore.TYPE_PLAYER;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
-        currentSprite.render(gc, getPositionX(), getPositionY(), getWidth(), getHeight());
+        currentSprite.render(gc, getRenderX(), getRenderY(), getWidth(), getHeight());
+        renderedSprite = currentSprite;
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package rougelike.game.entities;
+
+/**
+ * Notified when the health, damage or inventory of a {@link Player} changes.
+ */
+public interface PlayerStatusListener {
+    void onPlayerStatusChanged(Player player);
+}
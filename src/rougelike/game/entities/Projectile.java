@@ -2,12 +2,10 @@ package rougelike.game.entities;
 
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import rougelike.Global;
 import rougelike.game.graphics.ImageSprite;
+import rougelike.game.graphics.RenderQueue;
 
 public class Projectile extends GameElement {
-    private double velocityX;
-    private double velocityY;
     private int damage;
     private ImageSprite sprite;
     private boolean shouldRemove = false;
@@ -15,8 +13,8 @@ public class Projectile extends GameElement {
     public Projectile(double positionX, double positionY, double width, double height, Image image, double speed,
             double directionX, double directionY, int damage) {
         super(positionX, positionY, width, height, image);
-        this.velocityX = directionX * speed;
-        this.velocityY = directionY * speed;
+        setVelocityX(directionX * speed);
+        setVelocityY(directionY * speed);
         this.damage = damage;
 
         // Initialize the sprite with a single image
@@ -42,13 +40,24 @@ public class Projectile extends GameElement {
         return new InteractionResult(interactionResultType, entity);
     }
 
-    public void updatePosition(long timeElapsedMilli) {
-        setPositionX(getPositionX() + velocityX * timeElapsedMilli);
-        setPositionY(getPositionY() + velocityY * timeElapsedMilli);
+    public void updatePosition(double timeElapsedMilli) {
+        updatePosition(timeElapsedMilli, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Move the projectile and mark it for removal once it left the world.
+     *
+     * @param timeElapsedMilli The time to move for
+     * @param worldWidth       The width of the level in world coordinates
+     * @param worldHeight      The height of the level in world coordinates
+     */
+    public void updatePosition(double timeElapsedMilli, double worldWidth, double worldHeight) {
+        setPositionX(getPositionX() + getVelocityX() * timeElapsedMilli);
+        setPositionY(getPositionY() + getVelocityY() * timeElapsedMilli);
         
         // Mark for removal if out of bounds
         if (getPositionX() < 0 || getPositionY() < 0 || 
-            getPositionX() > Global.WINDOW_WIDTH || getPositionY() > Global.WINDOW_HEIGHT) {
+            getPositionX() > worldWidth || getPositionY() > worldHeight) {
             this.shouldRemove = true;
         }
     }
@@ -57,8 +66,25 @@ public class Projectile extends GameElement {
         return shouldRemove;
     }
 
+    /**
+     * Mark the projectile for removal, e.g. after it hit a wall.
+     */
+    public void markForRemoval() {
+        this.shouldRemove = true;
+    }
+
+    @Override
+    protected int getTypeTag() {
+        return EntityStore.TYPE_PROJECTILE;
+    }
+
+    @Override
+    public int getRenderLayer() {
+        return RenderQueue.LAYER_PROJECTILES;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
-        sprite.render(gc, getPositionX(), getPositionY(), getWidth(), getHeight());
+        sprite.render(gc, getRenderX(), getRenderY(), getWidth(), getHeight());
     }
 }
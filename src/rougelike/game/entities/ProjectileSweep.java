@@ -0,0 +1,165 @@
+package rougelike.game.entities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Continuous collision detection for projectiles.
+ *
+ * A projectile can move further than an enemy is wide in a single tick, for
+ * example after a frame hitch, and skip over it between two discrete overlap
+ * tests. Instead, the path of every projectile from its position at the start
+ * of the tick to its current one is swept against the blocked tiles and against
+ * the path of every enemy, and the earliest time of impact wins.
+ *
+ * Pairs are found with a sweep and prune over the X extents of the swept boxes:
+ * the boxes are sorted by their left edge and only boxes whose X ranges
+ * overlap get the full swept test. Box objects are pooled and reused between
+ * ticks.
+ */
+public class ProjectileSweep {
+
+    /**
+     * Receives the outcome of a sweep.
+     */
+    public interface HitListener {
+        /**
+         * The projectile hit the enemy before anything else.
+         */
+        void onEnemyHit(Projectile projectile, Enemy enemy);
+
+        /**
+         * The projectile hit a blocked tile before any enemy.
+         */
+        void onWallHit(Projectile projectile);
+    }
+
+    private static final Comparator<SweptBox> BY_MIN_X = Comparator.comparingDouble(box -> box.minX);
+
+    private final List<SweptBox> pool = new ArrayList<>();
+    private final List<SweptBox> boxes = new ArrayList<>();
+    private final List<SweptBox> active = new ArrayList<>();
+
+    /**
+     * Sweep the projectiles against the enemies and the blocked tiles of the
+     * tick that just moved them. Reports at most one hit per projectile.
+     *
+     * @param projectiles   The projectiles that moved this tick
+     * @param enemies       The enemies that moved this tick
+     * @param tileOccupancy The blocked tiles, or null if there are none
+     * @param listener      Receives the hits, in the order of the projectiles
+     */
+    public void sweep(List<Projectile> projectiles, List<Enemy> enemies, TileOccupancy tileOccupancy,
+            HitListener listener) {
+        if (projectiles.isEmpty()) {
+            return;
+        }
+
+        boxes.clear();
+        for (int i = 0; i < projectiles.size(); i++) {
+            SweptBox box = obtain(i, projectiles.get(i), true);
+            box.wallTime = tileOccupancy != null
+                    ? tileOccupancy.sweep(box.x, box.y, box.width, box.height, box.dx, box.dy)
+                    : CollisionDetection.NO_HIT;
+            boxes.add(box);
+        }
+        for (Enemy enemy : enemies) {
+            boxes.add(obtain(boxes.size(), enemy, false));
+        }
+
+        boxes.sort(BY_MIN_X);
+        active.clear();
+        for (SweptBox box : boxes) {
+            // Drop the boxes that end before this one starts
+            for (int i = active.size() - 1; i >= 0; i--) {
+                if (active.get(i).maxX <= box.minX) {
+                    active.set(i, active.get(active.size() - 1));
+                    active.remove(active.size() - 1);
+                }
+            }
+            for (SweptBox other : active) {
+                if (other.projectile != box.projectile) {
+                    testPair(box.projectile ? box : other, box.projectile ? other : box);
+                }
+            }
+            active.add(box);
+        }
+
+        // Projectiles took the first pool slots, so report in their original order
+        for (int i = 0; i < projectiles.size(); i++) {
+            SweptBox box = pool.get(i);
+            Projectile projectile = (Projectile) box.entity;
+            if (box.hitEnemy != null) {
+                listener.onEnemyHit(projectile, box.hitEnemy);
+            } else if (box.wallTime != CollisionDetection.NO_HIT) {
+                listener.onWallHit(projectile);
+            }
+        }
+    }
+
+    /**
+     * Swept test of a projectile against an enemy, in the frame of reference of
+     * the enemy. Keeps the hit if it is earlier than the projectile's wall hit
+     * and any enemy found so far.
+     */
+    private static void testPair(SweptBox projectile, SweptBox enemy) {
+        double time = CollisionDetection.sweptAabb(
+                projectile.x, projectile.y, projectile.width, projectile.height,
+                projectile.dx - enemy.dx, projectile.dy - enemy.dy,
+                enemy.x, enemy.y, enemy.width, enemy.height);
+        if (time == CollisionDetection.NO_HIT) {
+            return;
+        }
+        if (projectile.wallTime != CollisionDetection.NO_HIT && time > projectile.wallTime) {
+            return;
+        }
+        if (projectile.hitEnemy == null || time < projectile.hitTime
+                || (time == projectile.hitTime && enemy.index < projectile.hitEnemyIndex)) {
+            projectile.hitEnemy = (Enemy) enemy.entity;
+            projectile.hitTime = time;
+            projectile.hitEnemyIndex = enemy.index;
+        }
+    }
+
+    private SweptBox obtain(int slot, Entity entity, boolean projectile) {
+        if (slot == pool.size()) {
+            pool.add(new SweptBox());
+        }
+        SweptBox box = pool.get(slot);
+        box.entity = entity;
+        box.projectile = projectile;
+        box.index = slot;
+        box.x = entity.getPreviousPositionX();
+        box.y = entity.getPreviousPositionY();
+        box.width = entity.getWidth();
+        box.height = entity.getHeight();
+        box.dx = entity.getPositionX() - box.x;
+        box.dy = entity.getPositionY() - box.y;
+        box.minX = Math.min(box.x, box.x + box.dx);
+        box.maxX = Math.max(box.x, box.x + box.dx) + box.width;
+        box.wallTime = CollisionDetection.NO_HIT;
+        box.hitEnemy = null;
+        box.hitTime = 0;
+        box.hitEnemyIndex = -1;
+        return box;
+    }
+
+    private static class SweptBox {
+        Entity entity;
+        boolean projectile;
+        int index;
+        double x;
+        double y;
+        double width;
+        double height;
+        double dx;
+        double dy;
+        double minX;
+        double maxX;
+        double wallTime;
+        Enemy hitEnemy;
+        double hitTime;
+        int hitEnemyIndex;
+    }
+}
@@ -0,0 +1,325 @@
+package rougelike.game.entities;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform-grid broadphase for collision detection.
+ *
+ * The world is divided into cells the size of one tile and every tracked entity
+ * is listed in each cell its bounding box touches. A collision query then only
+ * has to look at the cells covered by the moving entity instead of at every
+ * entity in the level. Entities are re-bucketed by {@link #update} when they
+ * move, which only touches the buckets if the entity crossed a cell border.
+ *
+ * Cells are found through an open-addressing table keyed by the packed
+ * column and row, so no key objects are created on the collision path. Cells
+ * that become empty are kept for reuse; the table only grows while entities
+ * reach cells they never touched before.
+ *
+ * Inserting, removing and updating must happen on the thread that drives the
+ * simulation. Queries only read and may run on several threads at once.
+ */
+public class SpatialHash {
+    private static final int MIN_COL = 0;
+    private static final int MIN_ROW = 1;
+    private static final int MAX_COL = 2;
+    private static final int MAX_ROW = 3;
+
+    private static final int INITIAL_CELL_CAPACITY = 64;
+
+    private long[] cellKeys;
+    private List<Entity>[] cells;
+    private int cellCount;
+    private final Map<Entity, int[]> cellBounds = new IdentityHashMap<>();
+    private double cellWidth;
+    private double cellHeight;
+
+    /**
+     * @param cellWidth  The width of one cell, must be positive
+     * @param cellHeight The height of one cell, must be positive
+     */
+    public SpatialHash(double cellWidth, double cellHeight) {
+        allocateCells(INITIAL_CELL_CAPACITY);
+        setCellSize(cellWidth, cellHeight);
+    }
+
+    /**
+     * Change the cell size and re-bucket every tracked entity.
+     *
+     * @param cellWidth  The width of one cell, must be positive
+     * @param cellHeight The height of one cell, must be positive
+     */
+    public void setCellSize(double cellWidth, double cellHeight) {
+        if (!(cellWidth > 0) || !(cellHeight > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+
+        allocateCells(INITIAL_CELL_CAPACITY);
+        for (Map.Entry<Entity, int[]> entry : cellBounds.entrySet()) {
+            computeBounds(entry.getKey(), entry.getValue());
+            addToCells(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Start tracking an entity. Inserting a tracked entity again has no effect.
+     *
+     * @param entity The entity to track, ignored if null
+     */
+    public void insert(Entity entity) {
+        if (entity == null || cellBounds.containsKey(entity)) {
+            return;
+        }
+        int[] bounds = new int[4];
+        computeBounds(entity, bounds);
+        cellBounds.put(entity, bounds);
+        addToCells(entity, bounds);
+    }
+
+    /**
+     * Stop tracking an entity.
+     *
+     * @param entity The entity to remove, ignored if null or not tracked
+     */
+    public void remove(Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        int[] bounds = cellBounds.remove(entity);
+        if (bounds != null) {
+            removeFromCells(entity, bounds);
+        }
+    }
+
+    /**
+     * Move a tracked entity to the cells of its current position.
+     *
+     * @param entity The entity that may have moved, ignored if not tracked
+     */
+    public void update(Entity entity) {
+        int[] bounds = entity != null ? cellBounds.get(entity) : null;
+        if (bounds == null) {
+            return;
+        }
+        int minCol = toCol(entity.getPositionX());
+        int minRow = toRow(entity.getPositionY());
+        int maxCol = toCol(entity.getPositionX() + entity.getWidth());
+        int maxRow = toRow(entity.getPositionY() + entity.getHeight());
+        if (minCol == bounds[MIN_COL] && minRow == bounds[MIN_ROW]
+                && maxCol == bounds[MAX_COL] && maxRow == bounds[MAX_ROW]) {
+            return;
+        }
+        removeFromCells(entity, bounds);
+        bounds[MIN_COL] = minCol;
+        bounds[MIN_ROW] = minRow;
+        bounds[MAX_COL] = maxCol;
+        bounds[MAX_ROW] = maxRow;
+        addToCells(entity, bounds);
+    }
+
+    /**
+     * Collect the entities sharing a cell with the current bounding box of an
+     * entity. Every entity is added once; the entity itself is left out.
+     *
+     * @param entity     The entity to find neighbours of
+     * @param candidates The list the candidates are appended to
+     */
+    public void query(Entity entity, List<Entity> candidates) {
+        int start = candidates.size();
+        int maxCol = toCol(entity.getPositionX() + entity.getWidth());
+        int maxRow = toRow(entity.getPositionY() + entity.getHeight());
+        for (int row = toRow(entity.getPositionY()); row <= maxRow; row++) {
+            for (int col = toCol(entity.getPositionX()); col <= maxCol; col++) {
+                List<Entity> cell = findCell(col, row);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    Entity other = cell.get(i);
+                    if (other != entity && !containsFrom(candidates, start, other)) {
+                        candidates.add(other);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the entities in the cells covered by a rectangle, e.g. the
+     * visible part of the world. Every entity is added once, when the scan
+     * reaches the first of its cells inside the rectangle, so the cost grows
+     * with the covered cells and not with the number of results.
+     *
+     * @param x       The left edge of the rectangle
+     * @param y       The top edge of the rectangle
+     * @param width   The width of the rectangle
+     * @param height  The height of the rectangle
+     * @param results The list the entities are appended to
+     */
+    public void queryRect(double x, double y, double width, double height, List<Entity> results) {
+        int minCol = toCol(x);
+        int minRow = toRow(y);
+        int maxCol = toCol(x + width);
+        int maxRow = toRow(y + height);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                List<Entity> cell = findCell(col, row);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    Entity entity = cell.get(i);
+                    int[] bounds = cellBounds.get(entity);
+                    if (Math.max(bounds[MIN_COL], minCol) == col && Math.max(bounds[MIN_ROW], minRow) == row) {
+                        results.add(entity);
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean contains(Entity entity) {
+        return cellBounds.containsKey(entity);
+    }
+
+    public int size() {
+        return cellBounds.size();
+    }
+
+    public void clear() {
+        allocateCells(INITIAL_CELL_CAPACITY);
+        cellBounds.clear();
+    }
+
+    private void computeBounds(Entity entity, int[] bounds) {
+        bounds[MIN_COL] = toCol(entity.getPositionX());
+        bounds[MIN_ROW] = toRow(entity.getPositionY());
+        bounds[MAX_COL] = toCol(entity.getPositionX() + entity.getWidth());
+        bounds[MAX_ROW] = toRow(entity.getPositionY() + entity.getHeight());
+    }
+
+    private void addToCells(Entity entity, int[] bounds) {
+        for (int row = bounds[MIN_ROW]; row <= bounds[MAX_ROW]; row++) {
+            for (int col = bounds[MIN_COL]; col <= bounds[MAX_COL]; col++) {
+                cellFor(col, row).add(entity);
+            }
+        }
+    }
+
+    private void removeFromCells(Entity entity, int[] bounds) {
+        for (int row = bounds[MIN_ROW]; row <= bounds[MAX_ROW]; row++) {
+            for (int col = bounds[MIN_COL]; col <= bounds[MAX_COL]; col++) {
+                List<Entity> cell = findCell(col, row);
+                if (cell != null) {
+                    removeIdentity(cell, entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The entities listed in a cell, or null if the cell was never
+     *         used
+     */
+    private List<Entity> findCell(int col, int row) {
+        long key = key(col, row);
+        int mask = cellKeys.length - 1;
+        for (int slot = slot(key, mask); cells[slot] != null; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return cells[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The entities listed in a cell, creating the cell if needed
+     */
+    private List<Entity> cellFor(int col, int row) {
+        long key = key(col, row);
+        int mask = cellKeys.length - 1;
+        int slot = slot(key, mask);
+        for (; cells[slot] != null; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return cells[slot];
+            }
+        }
+        // Kept at most half full so probe runs stay short
+        if (2 * (cellCount + 1) > cellKeys.length) {
+            growCells();
+            return cellFor(col, row);
+        }
+        cellKeys[slot] = key;
+        cells[slot] = new ArrayList<>();
+        cellCount++;
+        return cells[slot];
+    }
+
+    private void growCells() {
+        long[] oldKeys = cellKeys;
+        List<Entity>[] oldCells = cells;
+        allocateCells(oldKeys.length * 2);
+        int mask = cellKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCells[i] == null) {
+                continue;
+            }
+            int slot = slot(oldKeys[i], mask);
+            while (cells[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            cellKeys[slot] = oldKeys[i];
+            cells[slot] = oldCells[i];
+            cellCount++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocateCells(int capacity) {
+        cellKeys = new long[capacity];
+        cells = (List<Entity>[]) new List<?>[capacity];
+        cellCount = 0;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static void removeIdentity(List<Entity> cell, Entity entity) {
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i) == entity) {
+                int last = cell.size() - 1;
+                cell.set(i, cell.get(last));
+                cell.remove(last);
+                return;
+            }
+        }
+    }
+
+    private static boolean containsFrom(List<Entity> list, int start, Entity entity) {
+        for (int i = start; i < list.size(); i++) {
+            if (list.get(i) == entity) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int toCol(double x) {
+        return (int) Math.floor(x / cellWidth);
+    }
+
+    private int toRow(double y) {
+        return (int) Math.floor(y / cellHeight);
+    }
+
+    private static long key(int col, int row) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,163 @@
+package rougelike.game.entities;
+
+import java.util.Arrays;
+
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * The static tiles of a level, one byte per cell.
+ *
+ * Every cell stores the index of its {@link TileType}; the image and the
+ * collision flag live once per type instead of once per tile, so a level
+ * holds one array instead of an entity per floor and wall tile. Type
+ * {@link #BASE} is drawn under every cell, other types on top of it. The
+ * {@link TileOccupancy} of the map is kept in step with its blocking types.
+ */
+public class TileMap {
+    /** The type of every cell that was not set, drawn below all others. */
+    public static final byte BASE = 0;
+    private static final int MAX_TYPES = 256;
+
+    private final int rows;
+    private final int columns;
+    private final double tileWidth;
+    private final double tileHeight;
+    private final byte[] tiles;
+    private final TileOccupancy occupancy;
+    private TileType[] types = new TileType[1];
+
+    /**
+     * @param rows       The number of tile rows, must not be negative
+     * @param columns    The number of tile columns, must not be negative
+     * @param tileWidth  The width of one tile, must be positive
+     * @param tileHeight The height of one tile, must be positive
+     * @param base       The type of every cell until it is set
+     */
+    public TileMap(int rows, int columns, double tileWidth, double tileHeight, TileType base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Base tile type cannot be null");
+        }
+        this.occupancy = new TileOccupancy(rows, columns, tileWidth, tileHeight);
+        this.rows = rows;
+        this.columns = columns;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tiles = new byte[rows * columns];
+        this.types[BASE] = base;
+        if (base.isBlocking()) {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    occupancy.setBlocked(row, column);
+                }
+            }
+        }
+    }
+
+    /**
+     * Register a tile type.
+     *
+     * @return The index to pass to {@link #setTile}
+     * @throws IllegalStateException if the map already has 256 types
+     */
+    public byte addType(TileType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Tile type cannot be null");
+        }
+        if (types.length == MAX_TYPES) {
+            throw new IllegalStateException("A tile map holds at most " + MAX_TYPES + " types");
+        }
+        types = Arrays.copyOf(types, types.length + 1);
+        types[types.length - 1] = type;
+        return (byte) (types.length - 1);
+    }
+
+    public void setTile(int row, int column, byte type) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Tile " + row + "," + column + " is outside the level");
+        }
+        if ((type & 0xFF) >= types.length) {
+            throw new IllegalArgumentException("Unknown tile type: " + (type & 0xFF));
+        }
+        tiles[row * columns + column] = type;
+        // Cells only become blocking: a level is built once and never opened up
+        if (types[type & 0xFF].isBlocking()) {
+            occupancy.setBlocked(row, column);
+        }
+    }
+
+    public byte getTile(int row, int column) {
+        return tiles[row * columns + column];
+    }
+
+    /**
+     * @return The type of a cell, or null for cells outside the map
+     */
+    public TileType getType(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return null;
+        }
+        return types[tiles[row * columns + column] & 0xFF];
+    }
+
+    public TileType getBaseType() {
+        return types[BASE];
+    }
+
+    public int getTypeCount() {
+        return types.length;
+    }
+
+    /**
+     * @return The blocked tiles, derived from the blocking types
+     */
+    public TileOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Draw the cells overlapping a rectangle of world coordinates, the base
+     * type first and then the type of the cell.
+     */
+    public void render(GraphicsContext gc, double x, double y, double width, double height) {
+        int firstRow = Math.max(0, (int) Math.floor(y / tileHeight));
+        int firstColumn = Math.max(0, (int) Math.floor(x / tileWidth));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((y + height) / tileHeight));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((x + width) / tileWidth));
+        TileType base = types[BASE];
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                double tileX = column * tileWidth;
+                double tileY = row * tileHeight;
+                base.render(gc, tileX, tileY, tileWidth, tileHeight);
+                int type = tiles[row * columns + column] & 0xFF;
+                if (type != BASE) {
+                    types[type].render(gc, tileX, tileY, tileWidth, tileHeight);
+                }
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public double getTileWidth() {
+        return tileWidth;
+    }
+
+    public double getTileHeight() {
+        return tileHeight;
+    }
+
+    public double getWorldWidth() {
+        return occupancy.getWorldWidth();
+    }
+
+    public double getWorldHeight() {
+        return occupancy.getWorldHeight();
+    }
+}
@@ -0,0 +1,197 @@
+package rougelike.game.entities;
+
+/**
+ * Bitmap of the tiles of a level that are blocked by static geometry.
+ *
+ * One bit per tile, row-major, packed into a {@code long[]}. Walls never move,
+ * so instead of taking part in every AABB test as entities they are looked up
+ * here by tile index: an entity only has to be checked against the few tiles
+ * its bounding box covers.
+ */
+public class TileOccupancy {
+    private final int rows;
+    private final int columns;
+    private final double tileWidth;
+    private final double tileHeight;
+    private final long[] bits;
+
+    /**
+     * @param rows       The number of tile rows, must not be negative
+     * @param columns    The number of tile columns, must not be negative
+     * @param tileWidth  The width of one tile, must be positive
+     * @param tileHeight The height of one tile, must be positive
+     */
+    public TileOccupancy(int rows, int columns, double tileWidth, double tileHeight) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Tile counts must not be negative");
+        }
+        if (!(tileWidth > 0) || !(tileHeight > 0)) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.bits = new long[(int) (((long) rows * columns + 63) >>> 6)];
+    }
+
+    public void setBlocked(int row, int column) {
+        if (!inBounds(row, column)) {
+            throw new IndexOutOfBoundsException("Tile " + row + "," + column + " is outside the level");
+        }
+        int index = row * columns + column;
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * @return true if the tile is blocked. Tiles outside the level are free.
+     */
+    public boolean isBlocked(int row, int column) {
+        if (!inBounds(row, column)) {
+            return false;
+        }
+        int index = row * columns + column;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return true if the bounding box of the entity overlaps a blocked tile
+     */
+    public boolean overlapsBlocked(Entity entity) {
+        int lastRow = lastRow(entity);
+        int lastColumn = lastColumn(entity);
+        for (int row = firstRow(entity); row <= lastRow; row++) {
+            for (int column = firstColumn(entity); column <= lastColumn; column++) {
+                if (isBlocked(row, column) && overlapsTile(entity, row, column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Push an entity out of every blocked tile it overlaps, the same way
+     * {@link CollisionDetection#resolveCollision} separates it from a wall.
+     *
+     * @param entity The entity to move
+     */
+    public void resolve(Entity entity) {
+        int firstRow = firstRow(entity);
+        int lastRow = lastRow(entity);
+        int firstColumn = firstColumn(entity);
+        int lastColumn = lastColumn(entity);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (isBlocked(row, column) && overlapsTile(entity, row, column)) {
+                    CollisionDetection.resolveCollision(entity,
+                            column * tileWidth, row * tileHeight, tileWidth, tileHeight);
+                    clamp(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep an entity inside the ring of border tiles of the level.
+     *
+     * @param entity The entity to move
+     */
+    public void clamp(Entity entity) {
+        CollisionDetection.clampPosition(entity, tileWidth, tileHeight,
+                getWorldWidth() - tileWidth, getWorldHeight() - tileHeight);
+    }
+
+    /**
+     * Find the first blocked tile hit by a box moving in a straight line.
+     *
+     * @param x      The left edge of the box at the start of the sweep
+     * @param y      The top edge of the box at the start of the sweep
+     * @param width  The width of the box
+     * @param height The height of the box
+     * @param dx     The horizontal distance moved
+     * @param dy     The vertical distance moved
+     * @return The fraction of the sweep in [0, 1] at which the box first
+     *         touches a blocked tile, or {@link CollisionDetection#NO_HIT}
+     */
+    public double sweep(double x, double y, double width, double height, double dx, double dy) {
+        int firstColumn = Math.max(0, (int) Math.floor(Math.min(x, x + dx) / tileWidth));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((Math.max(x, x + dx) + width) / tileWidth));
+        int firstRow = Math.max(0, (int) Math.floor(Math.min(y, y + dy) / tileHeight));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((Math.max(y, y + dy) + height) / tileHeight));
+
+        double earliest = CollisionDetection.NO_HIT;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (!isBlocked(row, column)) {
+                    continue;
+                }
+                double time = CollisionDetection.sweptAabb(x, y, width, height, dx, dy,
+                        column * tileWidth, row * tileHeight, tileWidth, tileHeight);
+                if (time != CollisionDetection.NO_HIT && (earliest == CollisionDetection.NO_HIT || time < earliest)) {
+                    earliest = time;
+                }
+            }
+        }
+        return earliest;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The width of the level in world coordinates
+     */
+    public double getWorldWidth() {
+        return columns * tileWidth;
+    }
+
+    /**
+     * @return The height of the level in world coordinates
+     */
+    public double getWorldHeight() {
+        return rows * tileHeight;
+    }
+
+    public double getTileWidth() {
+        return tileWidth;
+    }
+
+    public double getTileHeight() {
+        return tileHeight;
+    }
+
+    private boolean inBounds(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns;
+    }
+
+    private boolean overlapsTile(Entity entity, int row, int column) {
+        double tileX = column * tileWidth;
+        double tileY = row * tileHeight;
+        return entity.getPositionX() + entity.getWidth() > tileX &&
+                tileX + tileWidth > entity.getPositionX() &&
+                entity.getPositionY() + entity.getHeight() > tileY &&
+                tileY + tileHeight > entity.getPositionY();
+    }
+
+    private int firstRow(Entity entity) {
+        return Math.max(0, (int) Math.floor(entity.getPositionY() / tileHeight));
+    }
+
+    private int lastRow(Entity entity) {
+        return Math.min(rows - 1, (int) Math.floor((entity.getPositionY() + entity.getHeight()) / tileHeight));
+    }
+
+    private int firstColumn(Entity entity) {
+        return Math.max(0, (int) Math.floor(entity.getPositionX() / tileWidth));
+    }
+
+    private int lastColumn(Entity entity) {
+        return Math.min(columns - 1, (int) Math.floor((entity.getPositionX() + entity.getWidth()) / tileWidth));
+    }
+}
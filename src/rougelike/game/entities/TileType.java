@@ -0,0 +1,45 @@
+package rougelike.game.entities;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import rougelike.game.graphics.ImageSprite;
+
+/**
+ * The shared part of every tile of one kind, such as all floor or all wall
+ * tiles of a level: its image and whether it blocks movement. A
+ * {@link TileMap} stores only the type of each cell.
+ */
+public class TileType {
+    private final char code;
+    private final Image image;
+    private final ImageSprite sprite;
+    private final boolean blocking;
+
+    /**
+     * @param code     The character of the type in the dungeon layout
+     * @param image    The image of the tile, may be null when nothing is drawn
+     * @param blocking true if entities cannot enter the tile
+     */
+    public TileType(char code, Image image, boolean blocking) {
+        this.code = code;
+        this.image = image;
+        this.sprite = new ImageSprite(1.0, new Image[] { image });
+        this.blocking = blocking;
+    }
+
+    public char getCode() {
+        return code;
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public void render(GraphicsContext gc, double x, double y, double width, double height) {
+        sprite.render(gc, x, y, width, height);
+    }
+}
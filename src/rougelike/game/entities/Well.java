@@ -41,6 +41,16 @@ public class Well extends GameElement {
         return new InteractionResult(interactionResultType, entity, this);
     }
 
+    @Override
+    public boolean hasFrameChanged() {
+        return sprite.frameChangedSinceLastRender();
+    }
+
+    @Override
+    protected int getTypeTag() {
+        return EntityStore.TYPE_WELL;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         sprite.render(gc, getPositionX(), getPositionY(), getWidth(), getHeight());
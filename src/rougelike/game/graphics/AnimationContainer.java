@@ -1,14 +1,32 @@
 package rougelike.game.graphics;
 
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 import javafx.scene.canvas.GraphicsContext;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.List;
 
+/**
+ * The running animations, in an array that finished animations are removed
+ * from by moving the last one into their slot. Adding and removing therefore
+ * never copies the array, except when it grows. Must be used from the render
+ * thread.
+ */
 public class AnimationContainer<T extends Animatable> {
-    private final List<T> animations; 
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] animations = new Object[INITIAL_CAPACITY];
+    private int size;
+    private Consumer<? super T> recycler;
 
     public AnimationContainer() {
-        this.animations = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * @param recycler Called with every animation that finished and was
+     *                 removed, e.g. to return it to a pool
+     */
+    public void setRecycler(Consumer<? super T> recycler) {
+        this.recycler = recycler;
     }
 
     /**
@@ -21,7 +39,21 @@ public class AnimationContainer<T extends Animatable> {
         if (animation == null) {
             throw new IllegalArgumentException("Animation cannot be null");
         }
-        animations.add(animation);
+        if (size == animations.length) {
+            animations = Arrays.copyOf(animations, size * 2);
+        }
+        animations[size++] = animation;
+    }
+
+    /**
+     * @return true if no animation is running
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
     }
 
     /**
@@ -32,6 +64,7 @@ public class AnimationContainer<T extends Animatable> {
      * @param deltaTime Time elapsed since the last frame, must be non-negative
      * @throws IllegalArgumentException if gc is null or deltaTime is negative
      */
+    @SuppressWarnings("unchecked")
     public void renderAnimations(GraphicsContext gc, double deltaTime) {
         if (gc == null) {
             throw new IllegalArgumentException("Graphics context cannot be null");
@@ -40,13 +73,36 @@ public class AnimationContainer<T extends Animatable> {
             throw new IllegalArgumentException("Delta time cannot be negative");
         }
         
-        for (T animation : animations) {
+        int i = 0;
+        while (i < size) {
+            T animation = (T) animations[i];
             animation.update(deltaTime);
             if (animation.isActive()) {
                 animation.renderAnimation(gc);
+                i++;
+                continue;
+            }
+            // The last animation takes the free slot and is handled next
+            animations[i] = animations[--size];
+            animations[size] = null;
+            if (recycler != null) {
+                recycler.accept(animation);
             }
         }
-        
-        animations.removeIf(animation -> !animation.isActive());
+    }
+
+    /**
+     * Stop all animations, handing each one to the recycler.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            T animation = (T) animations[i];
+            animations[i] = null;
+            if (recycler != null) {
+                recycler.accept(animation);
+            }
+        }
+        size = 0;
     }
 }
@@ -0,0 +1,229 @@
+package rougelike.game.graphics;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import javafx.scene.image.Image;
+
+/**
+ * Least-recently-used cache of decoded assets with a memory budget.
+ *
+ * Assets are loaded on their first {@link #get} and their decoded size is
+ * tracked. Whenever the total exceeds the budget, the least recently used
+ * entries are dropped until it fits again. Pinned entries, e.g. the assets of
+ * the current level, are never dropped, so the cache may stay over budget
+ * while everything in it is pinned.
+ *
+ * @param <K> The key of an asset
+ * @param <V> The decoded asset
+ */
+public class AssetCache<K, V> {
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<K> pinned = new HashSet<>();
+    private final Function<K, V> loader;
+    private final ToLongFunction<V> sizer;
+    private BiConsumer<K, V> evictionListener;
+    private long budgetBytes;
+    private long usedBytes;
+
+    private static final class Entry<V> {
+        final V value;
+        long bytes;
+
+        Entry(V value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * @param loader      Loads an asset on a miss, may return null for unknown
+     *                    keys, which are not cached
+     * @param sizer       The decoded size of an asset in bytes
+     * @param budgetBytes How many bytes unpinned assets may take
+     */
+    public AssetCache(Function<K, V> loader, ToLongFunction<V> sizer, long budgetBytes) {
+        if (loader == null || sizer == null) {
+            throw new IllegalArgumentException("Loader and sizer cannot be null");
+        }
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative");
+        }
+        this.loader = loader;
+        this.sizer = sizer;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * @param listener Told about every entry dropped to stay within budget
+     */
+    public void setEvictionListener(BiConsumer<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * @return The asset, loaded now if it is not cached, or null if the loader
+     *         knows no such asset
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        V value = load(key);
+        evict();
+        return value;
+    }
+
+    private V load(K key) {
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        Entry<V> entry = new Entry<>(value, sizer.applyAsLong(value));
+        entries.put(key, entry);
+        usedBytes += entry.bytes;
+        return value;
+    }
+
+    /**
+     * Measure an entry again, e.g. once an image loading in the background
+     * has its final dimensions.
+     */
+    public synchronized void updateSize(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        long bytes = sizer.applyAsLong(entry.value);
+        usedBytes += bytes - entry.bytes;
+        entry.bytes = bytes;
+        evict();
+    }
+
+    /**
+     * Keep an asset in the cache regardless of the budget, loading it if
+     * needed.
+     */
+    public synchronized void pin(K key) {
+        // Pinned before the budget is enforced, so it cannot evict itself
+        if (entries.get(key) != null || load(key) != null) {
+            pinned.add(key);
+            evict();
+        }
+    }
+
+    /**
+     * Pin exactly the given assets, loading them if needed, and let all others
+     * be dropped. Assets pinned before and after are kept throughout.
+     */
+    public synchronized void pinOnly(Collection<K> keys) {
+        pinned.clear();
+        for (K key : keys) {
+            if (entries.get(key) != null || load(key) != null) {
+                pinned.add(key);
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Let all pinned assets be dropped again, e.g. when leaving a level.
+     */
+    public synchronized void unpinAll() {
+        pinned.clear();
+        evict();
+    }
+
+    public synchronized boolean isPinned(K key) {
+        return pinned.contains(key);
+    }
+
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative");
+        }
+        this.budgetBytes = budgetBytes;
+        evict();
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * @return The decoded size of all cached assets, pinned ones included
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return A copy of the cached assets, least recently used first
+     */
+    public synchronized Map<K, V> snapshot() {
+        Map<K, V> copy = new LinkedHashMap<>();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().value);
+        }
+        return copy;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        pinned.clear();
+        usedBytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (pinned.contains(entry.getKey())) {
+                continue;
+            }
+            iterator.remove();
+            usedBytes -= entry.getValue().bytes;
+            if (evictionListener != null) {
+                evictionListener.accept(entry.getKey(), entry.getValue().value);
+            }
+        }
+    }
+
+    /**
+     * @return The decoded size of an image, 4 bytes per pixel, or 0 while it
+     *         has no dimensions yet
+     */
+    public static long imageBytes(Image image) {
+        if (image == null) {
+            return 0;
+        }
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * @return The decoded size of all frames of an animation
+     */
+    public static long imageBytes(Image[] frames) {
+        long bytes = 0;
+        for (Image frame : frames) {
+            bytes += imageBytes(frame);
+        }
+        return bytes;
+    }
+}
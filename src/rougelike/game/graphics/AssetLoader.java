@@ -0,0 +1,167 @@
+package rougelike.game.graphics;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.image.Image;
+
+/**
+ * Decodes images in the background and keeps a future per asset key.
+ *
+ * Images are created with JavaFX background loading, so {@link #load} returns
+ * at once with an image that fills in when decoding finished, and the FX
+ * thread never waits for a PNG. The progress of all requested assets is
+ * exposed as a property a loading view can bind to.
+ *
+ * Progress updates and completions arrive on the FX thread, where JavaFX
+ * reports the progress of background images.
+ */
+public class AssetLoader {
+    private final Map<String, CompletableFuture<Image>> assets = new ConcurrentHashMap<>();
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(1.0);
+    private final Set<String> pending = new HashSet<>();
+    private int requested;
+    private int finished;
+
+    /**
+     * Start decoding an image in the background.
+     *
+     * @param key A name for the asset, unique within this loader
+     * @param url The URL of the image, e.g. {@code file:assets/misc/crate.png}
+     * @return The image, empty until decoding finished
+     * @throws IllegalArgumentException if the key was already requested
+     */
+    public Image load(String key, String url) {
+        register(key);
+        Image image = new Image(url, true);
+        image.progressProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue.doubleValue() >= 1.0) {
+                onImageDone(key, image);
+            }
+        });
+        image.errorProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue) {
+                onImageDone(key, image);
+            }
+        });
+        // Small images may be done before the listeners are in place
+        if (image.getProgress() >= 1.0 || image.isError()) {
+            onImageDone(key, image);
+        }
+        return image;
+    }
+
+    private void onImageDone(String key, Image image) {
+        if (image.isError()) {
+            fail(key, image.getException());
+        } else {
+            finish(key, image);
+        }
+    }
+
+    /**
+     * @return The future of a requested asset, completed exceptionally if the
+     *         asset failed to load
+     * @throws IllegalArgumentException if the key was never requested
+     */
+    public CompletableFuture<Image> get(String key) {
+        CompletableFuture<Image> future = assets.get(key);
+        if (future == null) {
+            throw new IllegalArgumentException("Unknown asset: " + key);
+        }
+        return future;
+    }
+
+    /**
+     * Forget an asset, e.g. after a cache dropped it, so it can be requested
+     * again.
+     */
+    public synchronized void release(String key) {
+        CompletableFuture<Image> future = assets.remove(key);
+        if (future == null) {
+            return;
+        }
+        requested--;
+        if (!pending.remove(key)) {
+            finished--;
+        }
+        updateProgress();
+    }
+
+    /**
+     * @return A future completed once every asset requested so far loaded or
+     *         failed
+     */
+    public CompletableFuture<Void> whenLoaded() {
+        CompletableFuture<?>[] settled = assets.values().stream()
+                .map(future -> future.handle((image, error) -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(settled);
+    }
+
+    /**
+     * @return The share of requested assets that loaded or failed, from 0 to 1
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    public synchronized boolean isLoaded() {
+        return finished == requested;
+    }
+
+    synchronized CompletableFuture<Image> register(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Asset key cannot be null");
+        }
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        if (assets.putIfAbsent(key, future) != null) {
+            throw new IllegalArgumentException("Asset already requested: " + key);
+        }
+        pending.add(key);
+        requested++;
+        updateProgress();
+        return future;
+    }
+
+    void finish(String key, Image image) {
+        CompletableFuture<Image> future = settle(key);
+        if (future != null) {
+            // Outside the lock, dependents may request further assets
+            future.complete(image);
+        }
+    }
+
+    void fail(String key, Throwable error) {
+        CompletableFuture<Image> future = settle(key);
+        if (future != null) {
+            System.err.println("Could not load asset " + key + ": "
+                    + (error == null ? "unknown error" : error.getMessage()));
+            future.completeExceptionally(error == null ? new IllegalStateException("Asset failed to load") : error);
+        }
+    }
+
+    /**
+     * Count an asset as settled.
+     *
+     * @return Its future, or null if it was released or already settled
+     */
+    private synchronized CompletableFuture<Image> settle(String key) {
+        CompletableFuture<Image> future = assets.get(key);
+        if (future == null || !pending.remove(key)) {
+            return null;
+        }
+        finished++;
+        updateProgress();
+        return future;
+    }
+
+    private void updateProgress() {
+        progress.set(requested == 0 ? 1.0 : (double) finished / requested);
+    }
+}
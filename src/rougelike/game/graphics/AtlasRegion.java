@@ -0,0 +1,42 @@
+package rougelike.game.graphics;
+
+import javafx.scene.image.Image;
+
+/**
+ * The sub-rectangle of a texture atlas page that holds one sprite.
+ */
+public class AtlasRegion {
+    private final Image page;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    public AtlasRegion(Image page, int x, int y, int width, int height) {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public Image getPage() {
+        return page;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
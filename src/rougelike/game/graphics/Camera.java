@@ -0,0 +1,83 @@
+package rougelike.game.graphics;
+
+/**
+ * The part of the world that is shown on screen.
+ *
+ * The camera centres its viewport on a target, usually the player, but never
+ * shows anything beyond the edges of the world; a world smaller than the
+ * viewport is centred instead. Positions are rounded to whole pixels so tiles
+ * do not shimmer while scrolling.
+ */
+public class Camera {
+    private final double viewportWidth;
+    private final double viewportHeight;
+    private double x;
+    private double y;
+
+    /**
+     * @param viewportWidth  The width of the visible area, must be positive
+     * @param viewportHeight The height of the visible area, must be positive
+     */
+    public Camera(double viewportWidth, double viewportHeight) {
+        if (!(viewportWidth > 0) || !(viewportHeight > 0)) {
+            throw new IllegalArgumentException("Viewport size must be positive");
+        }
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+    }
+
+    /**
+     * Centre the viewport on a point of the world.
+     *
+     * @param targetX     The horizontal world coordinate to centre on
+     * @param targetY     The vertical world coordinate to centre on
+     * @param worldWidth  The width of the world
+     * @param worldHeight The height of the world
+     * @return true if the viewport moved
+     */
+    public boolean follow(double targetX, double targetY, double worldWidth, double worldHeight) {
+        double newX = Math.round(clamp(targetX - viewportWidth / 2, worldWidth, viewportWidth));
+        double newY = Math.round(clamp(targetY - viewportHeight / 2, worldHeight, viewportHeight));
+        boolean moved = newX != x || newY != y;
+        x = newX;
+        y = newY;
+        return moved;
+    }
+
+    private static double clamp(double position, double worldSize, double viewportSize) {
+        if (worldSize <= viewportSize) {
+            return (worldSize - viewportSize) / 2;
+        }
+        return Math.max(0, Math.min(position, worldSize - viewportSize));
+    }
+
+    /**
+     * @return true if the rectangle is at least partly inside the viewport
+     */
+    public boolean isVisible(double x, double y, double width, double height) {
+        return x < this.x + viewportWidth && this.x < x + width
+                && y < this.y + viewportHeight && this.y < y + height;
+    }
+
+    /**
+     * @return The world coordinate of the left edge of the viewport
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return The world coordinate of the top edge of the viewport
+     */
+    public double getY() {
+        return y;
+    }
+
+    public double getViewportWidth() {
+        return viewportWidth;
+    }
+
+    public double getViewportHeight() {
+        return viewportHeight;
+    }
+}
@@ -0,0 +1,156 @@
+package rougelike.game.graphics;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Tracks which parts of the screen changed since the last frame.
+ *
+ * Every frame the renderer reports where each dynamic entity will be drawn.
+ * An entity that moved, changed its frame or disappeared marks both the
+ * rectangle it was drawn in last frame and the one it is drawn in now as
+ * dirty. Only those rectangles then need to be restored from the static layer
+ * and redrawn.
+ *
+ * Rectangles are widened to whole pixels so interpolated positions do not
+ * leave half-covered edges behind.
+ */
+public class DirtyRegionTracker {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Object, double[]> drawnBounds = new IdentityHashMap<>();
+    private double[] dirty = new double[INITIAL_CAPACITY * 4];
+    private int dirtyCount;
+    private int frame;
+
+    /**
+     * Start collecting the changes of a new frame.
+     */
+    public void beginFrame() {
+        dirtyCount = 0;
+        frame++;
+    }
+
+    /**
+     * Report where an entity is drawn this frame.
+     *
+     * @param key      The entity, compared by identity
+     * @param x        The left edge it is drawn at
+     * @param y        The top edge it is drawn at
+     * @param width    The width it is drawn with
+     * @param height   The height it is drawn with
+     * @param frameChanged true if its image changed since it was last drawn
+     */
+    public void track(Object key, double x, double y, double width, double height, boolean frameChanged) {
+        double left = Math.floor(x);
+        double top = Math.floor(y);
+        double right = Math.ceil(x + width);
+        double bottom = Math.ceil(y + height);
+
+        double[] bounds = drawnBounds.get(key);
+        if (bounds == null) {
+            drawnBounds.put(key, new double[] { left, top, right, bottom, frame });
+            addDirty(left, top, right - left, bottom - top);
+            return;
+        }
+        bounds[4] = frame;
+        boolean moved = bounds[0] != left || bounds[1] != top || bounds[2] != right || bounds[3] != bottom;
+        if (moved) {
+            addDirty(bounds[0], bounds[1], bounds[2] - bounds[0], bounds[3] - bounds[1]);
+        }
+        if (moved || frameChanged) {
+            addDirty(left, top, right - left, bottom - top);
+        }
+        bounds[0] = left;
+        bounds[1] = top;
+        bounds[2] = right;
+        bounds[3] = bottom;
+    }
+
+    /**
+     * Finish the frame, marking where entities that were not reported this
+     * frame used to be.
+     */
+    public void endFrame() {
+        Iterator<double[]> iterator = drawnBounds.values().iterator();
+        while (iterator.hasNext()) {
+            double[] bounds = iterator.next();
+            if (bounds[4] != frame) {
+                addDirty(bounds[0], bounds[1], bounds[2] - bounds[0], bounds[3] - bounds[1]);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget all drawn bounds, e.g. after a full repaint of a new level.
+     */
+    public void reset() {
+        drawnBounds.clear();
+        dirtyCount = 0;
+    }
+
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    public double getDirtyX(int index) {
+        return dirty[index * 4];
+    }
+
+    public double getDirtyY(int index) {
+        return dirty[index * 4 + 1];
+    }
+
+    public double getDirtyWidth(int index) {
+        return dirty[index * 4 + 2];
+    }
+
+    public double getDirtyHeight(int index) {
+        return dirty[index * 4 + 3];
+    }
+
+    /**
+     * @return The sum of the areas of the dirty rectangles. Overlaps count
+     *         twice, which errs on the side of a full repaint.
+     */
+    public double getDirtyArea() {
+        double area = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            area += getDirtyWidth(i) * getDirtyHeight(i);
+        }
+        return area;
+    }
+
+    /**
+     * @return true if the rectangle overlaps any dirty rectangle
+     */
+    public boolean intersectsDirty(double x, double y, double width, double height) {
+        for (int i = 0; i < dirtyCount; i++) {
+            double dirtyX = getDirtyX(i);
+            double dirtyY = getDirtyY(i);
+            if (x < dirtyX + getDirtyWidth(i) && dirtyX < x + width
+                    && y < dirtyY + getDirtyHeight(i) && dirtyY < y + height) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addDirty(double x, double y, double width, double height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if ((dirtyCount + 1) * 4 > dirty.length) {
+            dirty = Arrays.copyOf(dirty, dirty.length * 2);
+        }
+        int offset = dirtyCount * 4;
+        dirty[offset] = x;
+        dirty[offset + 1] = y;
+        dirty[offset + 2] = width;
+        dirty[offset + 3] = height;
+        dirtyCount++;
+    }
+}
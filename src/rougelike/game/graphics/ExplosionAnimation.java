@@ -7,16 +7,25 @@ public class ExplosionAnimation implements Animatable {
     private final ImageSprite sprite;
     private final double duration;
     private double elapsedTime;
-    private final double x, y, width, height; 
+    private double x, y, width, height; 
 
     public ExplosionAnimation(double duration, Image[] frames, double timePerFrame, double x, double y, double width, double height) {
         this.sprite = new ImageSprite(timePerFrame, frames);
         this.duration = duration;
+        reset(x, y, width, height);
+    }
+
+    /**
+     * Restart the explosion at a new place, so a finished animation can be
+     * reused instead of allocating a new one.
+     */
+    public void reset(double x, double y, double width, double height) {
         this.elapsedTime = 0;
         this.x = x;
         this.y = y;
         this.width = width;
         this.height = height;
+        sprite.reset();
     }
 
     @Override
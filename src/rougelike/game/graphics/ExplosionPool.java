@@ -0,0 +1,51 @@
+package rougelike.game.graphics;
+
+import java.util.ArrayDeque;
+
+import javafx.scene.image.Image;
+
+/**
+ * Recycles finished {@link ExplosionAnimation}s, so killing many enemies at
+ * once does not allocate a new animation and sprite for each of them.
+ */
+public class ExplosionPool {
+    private final ArrayDeque<ExplosionAnimation> free = new ArrayDeque<>();
+    private final double duration;
+    private final Image[] frames;
+    private final double timePerFrame;
+
+    /**
+     * @param duration     How long each explosion lasts, in seconds
+     * @param frames       The frames shared by all explosions
+     * @param timePerFrame How long each frame is shown, in seconds
+     */
+    public ExplosionPool(double duration, Image[] frames, double timePerFrame) {
+        this.duration = duration;
+        this.frames = frames;
+        this.timePerFrame = timePerFrame;
+    }
+
+    /**
+     * @return An explosion starting now at the given place, reused if one is
+     *         free
+     */
+    public ExplosionAnimation obtain(double x, double y, double width, double height) {
+        ExplosionAnimation animation = free.poll();
+        if (animation == null) {
+            return new ExplosionAnimation(duration, frames, timePerFrame, x, y, width, height);
+        }
+        animation.reset(x, y, width, height);
+        return animation;
+    }
+
+    /**
+     * Hand a finished explosion back for reuse.
+     */
+    public void release(ExplosionAnimation animation) {
+        free.push(animation);
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+}
@@ -5,9 +5,12 @@ import javafx.scene.image.Image;
 
 public class ImageSprite {
     private final Image[] images;  
+    private final AtlasRegion[] regions;
+    private final boolean[] regionResolved;
     private final double timePerImage; 
     private double elapsedTime; 
     private int currentIndex; 
+    private int renderedIndex = -1;
 
     public ImageSprite(double timePerImage, Image[] images) {
         if (images == null || images.length == 0) {
@@ -19,6 +22,8 @@ public class ImageSprite {
         
         this.timePerImage = timePerImage;
         this.images = images.clone();
+        this.regions = new AtlasRegion[images.length];
+        this.regionResolved = new boolean[images.length];
         this.elapsedTime = 0;
         this.currentIndex = 0;
     }
@@ -43,6 +48,22 @@ public class ImageSprite {
         }
     }
 
+    /**
+     * Start the animation over from the first frame.
+     */
+    public void reset() {
+        elapsedTime = 0;
+        currentIndex = 0;
+    }
+
+    /**
+     * @return true if the sprite shows another frame than when it was last
+     *         rendered, or was never rendered
+     */
+    public boolean frameChangedSinceLastRender() {
+        return currentIndex != renderedIndex;
+    }
+
     /**
      * Render the current image of the sprite to the GraphicsContext.
      *
@@ -61,8 +82,26 @@ public class ImageSprite {
             throw new IllegalArgumentException("Width and height must be non-negative");
         }
         
+        renderedIndex = currentIndex;
         if (currentIndex >= 0 && currentIndex < images.length && images[currentIndex] != null) {
-            gc.drawImage(images[currentIndex], x, y, width, height);
+            AtlasRegion region = regionFor(currentIndex);
+            if (region != null) {
+                gc.drawImage(region.getPage(), region.getX(), region.getY(), region.getWidth(), region.getHeight(),
+                        x, y, width, height);
+            } else {
+                gc.drawImage(images[currentIndex], x, y, width, height);
+            }
+        }
+    }
+
+    /**
+     * Look up the atlas region of a frame the first time it is drawn.
+     */
+    private AtlasRegion regionFor(int index) {
+        if (!regionResolved[index]) {
+            regions[index] = TextureAtlas.regionOf(images[index]);
+            regionResolved[index] = true;
         }
+        return regions[index];
     }
 }
@@ -1,9 +1,6 @@
 package rougelike.game.graphics;
 
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.WritableImage;
-import javafx.scene.image.PixelWriter;
 
 public class ImageUtils {
 
@@ -26,34 +23,6 @@ public class ImageUtils {
             throw new IllegalArgumentException("Image must have positive dimensions");
         }
         
-        Image[] images = new Image[numImages];
-        PixelReader pixelReader = image.getPixelReader();
-        if (pixelReader == null) {
-            throw new IllegalArgumentException("Unable to read pixels from image");
-        }
-        
-        int w = (int) (image.getWidth() / numImages);
-        int h = (int) image.getHeight();
-        
-        if (w <= 0) {
-            throw new IllegalArgumentException("Image width too small for requested number of partitions");
-        }           
-
-        for (int i = 0; i < numImages; i++) {
-            WritableImage imageSection = new WritableImage(w, h);
-            PixelWriter pixelWriter = imageSection.getPixelWriter();
-            
-            int stride = i * w;
-            for (int y = 0; y < h; y++) {
-                for (int x = 0; x < w; x++) {
-                    int sourceX = stride + x;
-                    if (sourceX < image.getWidth()) {
-                        pixelWriter.setColor(x, y, pixelReader.getColor(sourceX, y));
-                    }
-                }
-            }
-            images[i] = imageSection;
-        }
-        return images;
+        return SpriteSheetSlicer.slice(image, 1, numImages);
     }
 }
@@ -0,0 +1,48 @@
+package rougelike.game.graphics;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * One canvas of the stacked game view, with a flag that says whether its
+ * content has to be drawn again.
+ *
+ * Layers start out invalid. Whoever changes what a layer shows calls
+ * {@link #invalidate()}; the renderer redraws invalid layers and marks them
+ * valid, and leaves the pixels of every other layer alone.
+ */
+public class RenderLayer {
+    private final Canvas canvas;
+    private boolean invalid = true;
+
+    public RenderLayer(double width, double height) {
+        this.canvas = new Canvas(width, height);
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    public GraphicsContext getGraphicsContext() {
+        return canvas.getGraphicsContext2D();
+    }
+
+    public void invalidate() {
+        invalid = true;
+    }
+
+    public boolean isInvalid() {
+        return invalid;
+    }
+
+    public void markValid() {
+        invalid = false;
+    }
+
+    /**
+     * Erase the whole layer to transparent.
+     */
+    public void clear() {
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+}
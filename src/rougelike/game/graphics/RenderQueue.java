@@ -0,0 +1,117 @@
+package rougelike.game.graphics;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import rougelike.game.entities.Entity;
+
+/**
+ * Collects the entities to draw in a frame and draws them in a fixed order:
+ * by layer, then by the y coordinate of their bottom edge so entities lower on
+ * screen overlap those behind them, then by texture so consecutive draws reuse
+ * the same image.
+ *
+ * Each command is one long sort key holding the layer, the depth, a texture id
+ * and the submission index, so sorting is a primitive sort of the key array
+ * and ties keep the submission order. The arrays are kept between frames and
+ * only grow, so a steady frame allocates nothing.
+ */
+public class RenderQueue {
+    public static final int LAYER_GROUND = 0;
+    public static final int LAYER_ACTORS = 1;
+    public static final int LAYER_PROJECTILES = 2;
+
+    private static final int INDEX_BITS = 20;
+    private static final int TEXTURE_BITS = 12;
+    private static final int DEPTH_BITS = 28;
+    private static final int LAYER_BITS = 3;
+    private static final int MAX_COMMANDS = 1 << INDEX_BITS;
+    private static final long DEPTH_BIAS = 1L << (DEPTH_BITS - 1);
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size;
+    private final Map<Image, Integer> textureIds = new IdentityHashMap<>();
+
+    /**
+     * Queue an entity, taking its layer, depth and texture from the entity.
+     */
+    public void add(Entity entity) {
+        add(entity, entity.getRenderLayer(), entity.getRenderY() + entity.getHeight(), textureOf(entity.getImage()));
+    }
+
+    void add(Entity entity, int layer, double depth, int textureId) {
+        if (size == MAX_COMMANDS) {
+            throw new IllegalStateException("Render queue is full");
+        }
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        long clampedLayer = Math.max(0, Math.min(layer, (1 << LAYER_BITS) - 1));
+        long biasedDepth = Math.max(0, Math.min(Math.round(depth) + DEPTH_BIAS, (1L << DEPTH_BITS) - 1));
+        long texture = textureId & ((1 << TEXTURE_BITS) - 1);
+        entities[size] = entity;
+        keys[size] = clampedLayer << (DEPTH_BITS + TEXTURE_BITS + INDEX_BITS)
+                | biasedDepth << (TEXTURE_BITS + INDEX_BITS)
+                | texture << INDEX_BITS
+                | size;
+        size++;
+    }
+
+    /**
+     * Sort the queued commands into drawing order.
+     */
+    public void sort() {
+        Arrays.sort(keys, 0, size);
+    }
+
+    /**
+     * @return The entity drawn at a position after {@link #sort()}
+     */
+    public Entity get(int position) {
+        return entities[(int) (keys[position] & (MAX_COMMANDS - 1))];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sort and draw every queued entity, then empty the queue.
+     */
+    public void flush(GraphicsContext gc) {
+        sort();
+        for (int i = 0; i < size; i++) {
+            get(i).render(gc);
+        }
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Entities whose images share an atlas page share a texture id. Ids are
+     * handed out on first sight and kept, so they are stable between frames.
+     */
+    private int textureOf(Image image) {
+        if (image == null) {
+            return 0;
+        }
+        AtlasRegion region = TextureAtlas.regionOf(image);
+        Image texture = region != null ? region.getPage() : image;
+        Integer id = textureIds.get(texture);
+        if (id == null) {
+            id = textureIds.size() + 1;
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+}
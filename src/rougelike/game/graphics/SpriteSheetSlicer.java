@@ -0,0 +1,91 @@
+package rougelike.game.graphics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Cuts sprite sheets laid out as a grid of equally sized frames, such as the
+ * character sheets in {@code assets/characters}.
+ *
+ * Each frame is copied with one bulk {@link WritableImage} sub-image copy
+ * rather than pixel by pixel. Sheets loaded by path are decoded and sliced
+ * once per path and grid.
+ */
+public class SpriteSheetSlicer {
+    private static final Map<String, Image[]> cache = new ConcurrentHashMap<>();
+
+    private SpriteSheetSlicer() {
+    }
+
+    /**
+     * Split a sheet into its frames, row by row.
+     *
+     * @param sheet   The sprite sheet, cannot be null
+     * @param rows    The number of rows of frames, must be positive
+     * @param columns The number of columns of frames, must be positive
+     * @return The frames, left to right and top to bottom
+     * @throws IllegalArgumentException if the sheet cannot be read or is too
+     *                                  small for the grid
+     */
+    public static Image[] slice(Image sheet, int rows, int columns) {
+        if (sheet == null) {
+            throw new IllegalArgumentException("Image cannot be null");
+        }
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        if (sheet.getWidth() <= 0 || sheet.getHeight() <= 0) {
+            throw new IllegalArgumentException("Image must have positive dimensions");
+        }
+        PixelReader reader = sheet.getPixelReader();
+        if (reader == null) {
+            throw new IllegalArgumentException("Unable to read pixels from image");
+        }
+
+        int frameWidth = (int) (sheet.getWidth() / columns);
+        int frameHeight = (int) (sheet.getHeight() / rows);
+        if (frameWidth <= 0 || frameHeight <= 0) {
+            throw new IllegalArgumentException("Image too small for the requested grid");
+        }
+
+        Image[] frames = new Image[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                frames[row * columns + column] = new WritableImage(reader,
+                        column * frameWidth, row * frameHeight, frameWidth, frameHeight);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Load a sheet and split it into its frames, reusing the frames of an
+     * earlier call with the same path and grid.
+     *
+     * @param path    The URL of the sheet, e.g. {@code file:assets/misc/explosion.png}
+     * @param rows    The number of rows of frames, must be positive
+     * @param columns The number of columns of frames, must be positive
+     * @return The frames, left to right and top to bottom
+     * @throws IllegalArgumentException if the sheet cannot be loaded or is too
+     *                                  small for the grid
+     */
+    public static Image[] load(String path, int rows, int columns) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        Image[] frames = cache.computeIfAbsent(path + '#' + rows + 'x' + columns,
+                key -> slice(new Image(path), rows, columns));
+        return frames.clone();
+    }
+
+    /**
+     * Forget all loaded sheets.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,118 @@
+package rougelike.game.graphics;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import rougelike.game.entities.TileMap;
+
+/**
+ * Rasterizes the tiles that never change during a level into one image.
+ *
+ * The tiles of a {@link TileMap} are composited onto an opaque black
+ * background in an int buffer, scaling every sprite to its tile with
+ * nearest-neighbour sampling, and the buffer is written to a
+ * {@link WritableImage} in one call. Each source image is read only once,
+ * however many tiles use it.
+ */
+public class StaticLayerBaker {
+
+    private StaticLayerBaker() {
+    }
+
+    /**
+     * @param tiles  The tile map of a level
+     * @param width  The width of the layer in pixels, must be positive
+     * @param height The height of the layer in pixels, must be positive
+     * @return The baked layer, the base type of every cell below its own type
+     */
+    public static WritableImage bake(TileMap tiles, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Layer size must be positive");
+        }
+        int[] layer = new int[width * height];
+        Arrays.fill(layer, 0xFF000000);
+
+        Map<Image, int[]> sourcePixels = new IdentityHashMap<>();
+        int tileWidth = (int) Math.round(tiles.getTileWidth());
+        int tileHeight = (int) Math.round(tiles.getTileHeight());
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                int x = (int) Math.round(column * tiles.getTileWidth());
+                int y = (int) Math.round(row * tiles.getTileHeight());
+                drawTile(layer, width, height, sourcePixels, tiles.getBaseType().getImage(), x, y, tileWidth,
+                        tileHeight);
+                if (tiles.getTile(row, column) != TileMap.BASE) {
+                    drawTile(layer, width, height, sourcePixels, tiles.getType(row, column).getImage(), x, y,
+                            tileWidth, tileHeight);
+                }
+            }
+        }
+        return toImage(layer, width, height);
+    }
+
+    private static void drawTile(int[] layer, int layerWidth, int layerHeight, Map<Image, int[]> sourcePixels,
+            Image image, int x, int y, int width, int height) {
+        if (image == null || image.getPixelReader() == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+            return;
+        }
+        int[] pixels = sourcePixels.computeIfAbsent(image, StaticLayerBaker::readPixels);
+        drawScaled(layer, layerWidth, layerHeight, pixels, (int) image.getWidth(), (int) image.getHeight(),
+                x, y, width, height);
+    }
+
+    private static WritableImage toImage(int[] layer, int width, int height) {
+        WritableImage result = new WritableImage(width, height);
+        result.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), layer, 0, width);
+        return result;
+    }
+
+    private static int[] readPixels(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        PixelReader reader = image.getPixelReader();
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return pixels;
+    }
+
+    /**
+     * Draw a source image scaled to a rectangle of the layer, clipped to the
+     * layer, blending translucent pixels over what is already there.
+     */
+    static void drawScaled(int[] layer, int layerWidth, int layerHeight, int[] source, int sourceWidth,
+            int sourceHeight, int x, int y, int width, int height) {
+        int startX = Math.max(0, x);
+        int startY = Math.max(0, y);
+        int endX = Math.min(layerWidth, x + width);
+        int endY = Math.min(layerHeight, y + height);
+
+        for (int destY = startY; destY < endY; destY++) {
+            int sourceY = (int) ((long) (destY - y) * sourceHeight / height);
+            int sourceRow = sourceY * sourceWidth;
+            int layerRow = destY * layerWidth;
+            for (int destX = startX; destX < endX; destX++) {
+                int sourceX = (int) ((long) (destX - x) * sourceWidth / width);
+                int argb = source[sourceRow + sourceX];
+                int alpha = argb >>> 24;
+                if (alpha == 0xFF) {
+                    layer[layerRow + destX] = argb;
+                } else if (alpha != 0) {
+                    layer[layerRow + destX] = blend(argb, layer[layerRow + destX], alpha);
+                }
+            }
+        }
+    }
+
+    private static int blend(int over, int under, int alpha) {
+        int inverse = 0xFF - alpha;
+        int red = (((over >> 16) & 0xFF) * alpha + ((under >> 16) & 0xFF) * inverse) / 0xFF;
+        int green = (((over >> 8) & 0xFF) * alpha + ((under >> 8) & 0xFF) * inverse) / 0xFF;
+        int blue = ((over & 0xFF) * alpha + (under & 0xFF) * inverse) / 0xFF;
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+}
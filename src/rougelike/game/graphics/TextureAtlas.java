@@ -0,0 +1,203 @@
+package rougelike.game.graphics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Sprites packed into a few large images.
+ *
+ * Drawing many small images makes the renderer switch textures for nearly
+ * every draw call. The atlas copies the sprites into shared pages with a shelf
+ * packer and keeps a manifest from each original image to its
+ * {@link AtlasRegion}, so {@link ImageSprite} can draw a source rectangle of a
+ * page instead. Every sprite is surrounded by a copy of its edge pixels, so
+ * filtering at the border of a region never samples a neighbouring sprite.
+ *
+ * The atlas used by the sprites is installed once at startup with
+ * {@link #install}.
+ */
+public class TextureAtlas {
+    public static final int DEFAULT_PAGE_SIZE = 1024;
+    private static final int PADDING = 1;
+
+    private static volatile TextureAtlas installed;
+
+    private final Map<Image, AtlasRegion> regions;
+    private final List<Image> pages;
+
+    private TextureAtlas(Map<Image, AtlasRegion> regions, List<Image> pages) {
+        this.regions = regions;
+        this.pages = pages;
+    }
+
+    /**
+     * Pack images into pages of at most {@code pageSize} pixels square.
+     * Nulls, duplicates, images that cannot be read and images too large for
+     * a page are left out and keep being drawn on their own.
+     *
+     * @param images   The images to pack
+     * @param pageSize The maximum width and height of a page, must be positive
+     * @return The atlas
+     */
+    public static TextureAtlas pack(Collection<Image> images, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Image> packable = new ArrayList<>();
+        Map<Image, Boolean> seen = new IdentityHashMap<>();
+        for (Image image : images) {
+            if (image != null && seen.put(image, Boolean.TRUE) == null && image.getPixelReader() != null
+                    && image.getWidth() >= 1 && image.getHeight() >= 1
+                    && image.getWidth() + 2 * PADDING <= pageSize && image.getHeight() + 2 * PADDING <= pageSize) {
+                packable.add(image);
+            }
+        }
+
+        int[] widths = new int[packable.size()];
+        int[] heights = new int[packable.size()];
+        for (int i = 0; i < packable.size(); i++) {
+            widths[i] = (int) packable.get(i).getWidth() + 2 * PADDING;
+            heights[i] = (int) packable.get(i).getHeight() + 2 * PADDING;
+        }
+        int[] placements = layout(widths, heights, pageSize);
+
+        int pageCount = 0;
+        for (int i = 0; i < packable.size(); i++) {
+            pageCount = Math.max(pageCount, placements[i * 3] + 1);
+        }
+        int[] pageWidths = new int[pageCount];
+        int[] pageHeights = new int[pageCount];
+        for (int i = 0; i < packable.size(); i++) {
+            int page = placements[i * 3];
+            pageWidths[page] = Math.max(pageWidths[page], placements[i * 3 + 1] + widths[i]);
+            pageHeights[page] = Math.max(pageHeights[page], placements[i * 3 + 2] + heights[i]);
+        }
+
+        int[][] pixels = new int[pageCount][];
+        for (int page = 0; page < pageCount; page++) {
+            pixels[page] = new int[pageWidths[page] * pageHeights[page]];
+        }
+        for (int i = 0; i < packable.size(); i++) {
+            int page = placements[i * 3];
+            copyExtruded(packable.get(i), pixels[page], pageWidths[page],
+                    placements[i * 3 + 1], placements[i * 3 + 2]);
+        }
+
+        List<Image> pages = new ArrayList<>();
+        for (int page = 0; page < pageCount; page++) {
+            WritableImage image = new WritableImage(pageWidths[page], pageHeights[page]);
+            image.getPixelWriter().setPixels(0, 0, pageWidths[page], pageHeights[page],
+                    PixelFormat.getIntArgbInstance(), pixels[page], 0, pageWidths[page]);
+            pages.add(image);
+        }
+
+        // Image keeps the identity equals, so this is an identity map that
+        // lets images dropped by the asset cache be collected
+        Map<Image, AtlasRegion> regions = new WeakHashMap<>();
+        for (int i = 0; i < packable.size(); i++) {
+            Image image = packable.get(i);
+            regions.put(image, new AtlasRegion(pages.get(placements[i * 3]),
+                    placements[i * 3 + 1] + PADDING, placements[i * 3 + 2] + PADDING,
+                    (int) image.getWidth(), (int) image.getHeight()));
+        }
+        return new TextureAtlas(regions, pages);
+    }
+
+    /**
+     * Shelf packing: boxes are placed tallest first, left to right in rows as
+     * high as their first box, and a new page is started when a row no longer
+     * fits.
+     *
+     * @return For box i, its page, x and y at index 3i, 3i+1 and 3i+2
+     */
+    static int[] layout(int[] widths, int[] heights, int pageSize) {
+        Integer[] order = new Integer[widths.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> heights[b] != heights[a] ? heights[b] - heights[a] : widths[b] - widths[a]);
+
+        int[] placements = new int[widths.length * 3];
+        int page = 0;
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (int box : order) {
+            if (x + widths[box] > pageSize) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (y + heights[box] > pageSize) {
+                page++;
+                x = 0;
+                y = 0;
+                shelfHeight = 0;
+            }
+            placements[box * 3] = page;
+            placements[box * 3 + 1] = x;
+            placements[box * 3 + 2] = y;
+            x += widths[box];
+            shelfHeight = Math.max(shelfHeight, heights[box]);
+        }
+        return placements;
+    }
+
+    private static void copyExtruded(Image image, int[] page, int pageWidth, int x, int y) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] source = new int[width * height];
+        PixelReader reader = image.getPixelReader();
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), source, 0, width);
+
+        for (int row = -PADDING; row < height + PADDING; row++) {
+            int sourceRow = Math.max(0, Math.min(height - 1, row)) * width;
+            int pageRow = (y + PADDING + row) * pageWidth;
+            for (int column = -PADDING; column < width + PADDING; column++) {
+                int sourceColumn = Math.max(0, Math.min(width - 1, column));
+                page[pageRow + x + PADDING + column] = source[sourceRow + sourceColumn];
+            }
+        }
+    }
+
+    /**
+     * @return The region holding the image, or null if it is not in the atlas
+     */
+    public AtlasRegion getRegion(Image image) {
+        return regions.get(image);
+    }
+
+    public List<Image> getPages() {
+        return pages;
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    /**
+     * Make an atlas the one sprites are drawn from.
+     */
+    public static void install(TextureAtlas atlas) {
+        installed = atlas;
+    }
+
+    /**
+     * @return The region of the image in the installed atlas, or null if there
+     *         is no atlas or the image is not in it
+     */
+    public static AtlasRegion regionOf(Image image) {
+        TextureAtlas atlas = installed;
+        return atlas == null || image == null ? null : atlas.getRegion(image);
+    }
+}
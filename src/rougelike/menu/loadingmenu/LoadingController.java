@@ -0,0 +1,35 @@
+package rougelike.menu.loadingmenu;
+
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import rougelike.Model;
+
+/**
+ * Shown when the game is started before its assets finished loading.
+ */
+public class LoadingController {
+    private final VBox view;
+
+    public LoadingController(Model model, ObservableDoubleValue progress) {
+        this.view = new VBox(20);
+        this.view.setAlignment(Pos.CENTER);
+
+        this.view.backgroundProperty().bind(model.backgroundProperty());
+
+        Label loadingLabel = new Label("Loading...");
+        loadingLabel.setStyle("-fx-font-size: 24px; -fx-text-fill: white;");
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.progressProperty().bind(progress);
+
+        this.view.getChildren().addAll(loadingLabel, progressBar);
+    }
+
+    public Region getView() {
+        return view;
+    }
+}
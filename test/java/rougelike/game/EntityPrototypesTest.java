@@ -0,0 +1,63 @@
+package rougelike.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import rougelike.game.entities.Entity;
+import rougelike.game.entities.Exit;
+import rougelike.game.entities.Player;
+
+@Tag("unit")
+@DisplayName("Entity Prototypes Tests")
+class EntityPrototypesTest {
+
+    private EntityPrototypes prototypes;
+
+    @BeforeEach
+    void setUp() {
+        prototypes = new EntityPrototypes();
+    }
+
+    @Test
+    @DisplayName("Should create a new entity per call at the given tile")
+    void shouldCreateFromPrototype() {
+        Entity first = mock(Entity.class);
+        Entity second = mock(Entity.class);
+        EntityPrototypes.Prototype prototype = mock(EntityPrototypes.Prototype.class);
+        when(prototype.create(32, 64, 32, 32)).thenReturn(first, second);
+        prototypes.register('x', prototype);
+
+        assertSame(first, prototypes.create('x', 32, 64, 32, 32));
+        assertSame(second, prototypes.create('x', 32, 64, 32, 32));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and out of range codes")
+    void shouldRejectUnknownCodes() {
+        assertFalse(prototypes.contains('x'));
+        assertFalse(prototypes.contains('\u00e9'));
+        assertThrows(IllegalArgumentException.class, () -> prototypes.create('x', 0, 0, 32, 32));
+        assertThrows(IllegalArgumentException.class,
+                () -> prototypes.register('\u00e9', (x, y, width, height) -> null));
+        assertThrows(IllegalArgumentException.class, () -> prototypes.register('x', null));
+    }
+
+    @Test
+    @DisplayName("Should know the standard dungeon tiles")
+    void shouldBuildStandardPrototypes() {
+        EntityPrototypes standard = EntityPrototypes.standard();
+
+        for (char code : new char[] { 'P', 'E', 'L', 'w', 'p', 'e' }) {
+            assertTrue(standard.contains(code), "missing prototype for " + code);
+        }
+        assertFalse(standard.contains(' '));
+        assertFalse(standard.contains('W'));
+        assertInstanceOf(Player.class, standard.create('P', 0, 0, 32, 32));
+        assertInstanceOf(Exit.class, standard.create('e', 0, 0, 32, 32));
+    }
+}
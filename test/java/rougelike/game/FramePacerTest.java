@@ -0,0 +1,108 @@
+package rougelike.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static rougelike.game.GameConstants.FRAME_PACING_ADJUST_INTERVAL;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("Frame Pacer Tests")
+class FramePacerTest {
+
+    private static final double BUDGET_MILLIS = 10.0;
+    private static final int MAX_STRIDE = 3;
+
+    private FramePacer pacer;
+
+    @BeforeEach
+    void setUp() {
+        pacer = new FramePacer(BUDGET_MILLIS, MAX_STRIDE);
+    }
+
+    private void renderFrames(int count, double frameMillis) {
+        for (int i = 0; i < count; i++) {
+            pacer.frameRendered(frameMillis);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new FramePacer(0, MAX_STRIDE));
+        assertThrows(IllegalArgumentException.class, () -> new FramePacer(BUDGET_MILLIS, 0));
+    }
+
+    @Test
+    @DisplayName("Should render every pulse within budget")
+    void shouldRenderEveryPulseWithinBudget() {
+        renderFrames(FRAME_PACING_ADJUST_INTERVAL * 4, BUDGET_MILLIS / 2 + 1);
+
+        assertEquals(1, pacer.getRenderStride());
+        assertTrue(pacer.isEffectsEnabled());
+        assertTrue(pacer.isRenderDue());
+    }
+
+    @Nested
+    @DisplayName("Over Budget Tests")
+    class OverBudgetTests {
+
+        @Test
+        @DisplayName("Should drop effects before lowering the render rate")
+        void shouldDropEffectsFirst() {
+            renderFrames(FRAME_PACING_ADJUST_INTERVAL, BUDGET_MILLIS * 2);
+
+            assertFalse(pacer.isEffectsEnabled());
+            assertEquals(1, pacer.getRenderStride());
+
+            renderFrames(FRAME_PACING_ADJUST_INTERVAL, BUDGET_MILLIS * 2);
+
+            assertEquals(2, pacer.getRenderStride());
+        }
+
+        @Test
+        @DisplayName("Should not raise the stride past the limit")
+        void shouldCapStride() {
+            renderFrames(FRAME_PACING_ADJUST_INTERVAL * 10, BUDGET_MILLIS * 2);
+
+            assertEquals(MAX_STRIDE, pacer.getRenderStride());
+        }
+
+        @Test
+        @DisplayName("Should only render every stride pulses")
+        void shouldRenderEveryStridePulses() {
+            renderFrames(FRAME_PACING_ADJUST_INTERVAL * 2, BUDGET_MILLIS * 2);
+
+            assertFalse(pacer.isRenderDue());
+            assertTrue(pacer.isRenderDue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover in reverse order once well under budget")
+    void shouldRecoverInReverseOrder() {
+        renderFrames(FRAME_PACING_ADJUST_INTERVAL * 2, BUDGET_MILLIS * 2);
+        renderFrames(FRAME_PACING_ADJUST_INTERVAL, 1.0);
+
+        assertEquals(1, pacer.getRenderStride());
+        assertFalse(pacer.isEffectsEnabled());
+
+        renderFrames(FRAME_PACING_ADJUST_INTERVAL, 1.0);
+
+        assertTrue(pacer.isEffectsEnabled());
+    }
+
+    @Test
+    @DisplayName("Should restore full quality on reset")
+    void shouldRestoreOnReset() {
+        renderFrames(FRAME_PACING_ADJUST_INTERVAL * 2, BUDGET_MILLIS * 2);
+        pacer.reset();
+
+        assertEquals(1, pacer.getRenderStride());
+        assertTrue(pacer.isEffectsEnabled());
+        assertEquals(0, pacer.getAverageFrameMillis());
+    }
+}
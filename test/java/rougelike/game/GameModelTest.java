@@ -11,6 +11,7 @@ import javafx.collections.ObservableList;
 import javafx.scene.image.Image;
 import rougelike.game.entities.Entity;
 import rougelike.game.entities.Player;
+import rougelike.game.entities.Projectile;
 
 @DisplayName("Game Model Tests")
 class GameModelTest {
@@ -65,7 +66,23 @@ class GameModelTest {
             assertEquals(1, gameModel.getFloorEntities().size());
             assertTrue(gameModel.getFloorEntities().contains(mockEntity));
         }
-        
+
+        @Test
+        @DisplayName("Should change the floor version only when the floor changes")
+        void shouldTrackFloorVersion() {
+            int initial = gameModel.getFloorVersion();
+
+            gameModel.addEntity(mockEntity);
+            assertEquals(initial, gameModel.getFloorVersion());
+
+            gameModel.addFloorEntity(createMockEntity(0, 0, 32, 32));
+            int afterAdd = gameModel.getFloorVersion();
+            assertNotEquals(initial, afterAdd);
+
+            gameModel.clear();
+            assertNotEquals(afterAdd, gameModel.getFloorVersion());
+        }
+
         @Test
         @DisplayName("Should handle multiple entities")
         void shouldHandleMultipleEntities() {
@@ -314,4 +331,69 @@ class GameModelTest {
             assertTrue(gameModel.getFloorEntities().isEmpty());
         }
     }
-}
\ No newline at end of file
+    
+    @Nested
+    @DisplayName("Frame View Tests")
+    class FrameViewTests {
+        
+        @Test
+        @DisplayName("Should reuse the frame view while nothing changes")
+        void shouldReuseFrameViewWhileNothingChanges() {
+            gameModel.addEntity(mockEntity);
+            
+            FrameView first = gameModel.getFrameView();
+            
+            assertSame(first, gameModel.getFrameView());
+        }
+        
+        @Test
+        @DisplayName("Should rebuild the frame view after entities change")
+        void shouldRebuildFrameViewAfterEntitiesChange() {
+            FrameView before = gameModel.getFrameView();
+            
+            gameModel.addEntity(mockEntity);
+            FrameView after = gameModel.getFrameView();
+            
+            assertNotSame(before, after);
+            assertEquals(1, after.getEntities().size());
+        }
+        
+        @Test
+        @DisplayName("Should partition entities by kind")
+        void shouldPartitionEntitiesByKind() {
+            Projectile projectile = new Projectile(10, 10, 8, 8, mockImage, 1, 1, 0, 10);
+            gameModel.addEntity(mockEntity);
+            gameModel.addEntity(projectile);
+            gameModel.addFloorEntity(createMockEntity(0, 0, 32, 32));
+            
+            FrameView frame = gameModel.getFrameView();
+            
+            assertEquals(2, frame.getEntities().size());
+            assertEquals(1, frame.getFloorEntities().size());
+            assertEquals(1, frame.getProjectiles().size());
+            assertEquals(1, frame.getGameElements().size());
+            assertTrue(frame.getEnemies().isEmpty());
+            assertTrue(frame.getWells().isEmpty());
+        }
+        
+        @Test
+        @DisplayName("Should not be affected by later changes")
+        void shouldNotBeAffectedByLaterChanges() {
+            gameModel.addEntity(mockEntity);
+            FrameView frame = gameModel.getFrameView();
+            
+            gameModel.getEntities().clear();
+            
+            assertEquals(1, frame.getEntities().size());
+            assertThrows(UnsupportedOperationException.class, () -> frame.getEntities().clear());
+        }
+        
+        @Test
+        @DisplayName("Should skip null entities")
+        void shouldSkipNullEntities() {
+            gameModel.addEntity(null);
+            
+            assertTrue(gameModel.getFrameView().getEntities().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package rougelike.game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how long {@link Loader} takes to build a level, for square
+ * layouts from 16x16 to 512x512 tiles. Runs headless, so the images are
+ * placeholders and the static layer is not baked. Usage:
+ *
+ * <pre>
+ * java -cp bin:test-bin rougelike.game.LevelLoadBenchmark [runs per size]
+ * </pre>
+ */
+public class LevelLoadBenchmark {
+    private static final int[] SIZES = { 16, 32, 64, 128, 256, 512 };
+    private static final int DEFAULT_RUNS = 20;
+    private static final int WARMUP_RUNS = 5;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        PlatformUtils.setHeadlessMode(true);
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+
+        System.out.printf("%10s %10s %12s %12s%n", "size", "entities", "median ms", "best ms");
+        for (int size : SIZES) {
+            char[][] layout = generateLayout(size, new Random(SEED));
+            GameModel gameModel = new GameModel();
+            Loader loader = Loader.forDungeon("benchmark", gameModel);
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                loader.loadLevel(layout);
+            }
+            double[] millis = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                loader.loadLevel(layout);
+                millis[i] = (System.nanoTime() - start) / 1e6;
+            }
+            Arrays.sort(millis);
+            System.out.printf("%4dx%-5d %10d %12.3f %12.3f%n", size, size, gameModel.getEntities().size(),
+                    millis[runs / 2], millis[0]);
+        }
+    }
+
+    /**
+     * A walled room with scattered inner walls, enemies, wells and ladders,
+     * the player in one corner and the exit in the other.
+     */
+    static char[][] generateLayout(int size, Random random) {
+        char[][] layout = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                boolean border = row == 0 || column == 0 || row == size - 1 || column == size - 1;
+                double roll = random.nextDouble();
+                if (border || roll < 0.15) {
+                    layout[row][column] = 'W';
+                } else if (roll < 0.18) {
+                    layout[row][column] = 'E';
+                } else if (roll < 0.185) {
+                    layout[row][column] = 'w';
+                } else if (roll < 0.19) {
+                    layout[row][column] = 'L';
+                } else {
+                    layout[row][column] = ' ';
+                }
+            }
+        }
+        layout[1][1] = 'P';
+        layout[size - 2][size - 2] = 'e';
+        return layout;
+    }
+}
@@ -8,7 +8,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import rougelike.Model;
+import javafx.scene.image.Image;
 import rougelike.game.dungeon.Dungeon;
+import rougelike.game.dungeon.DungeonDatabase;
+import rougelike.game.entities.ImageDatabase;
+import rougelike.game.entities.Player;
+import rougelike.game.graphics.AssetCache;
 
 @DisplayName("Loader Integration Tests")
 class LoaderIntegrationTest {
@@ -260,6 +265,92 @@ class LoaderIntegrationTest {
         }
     }
     
+    @Nested
+    @DisplayName("Prefetch Tests")
+    class PrefetchTests {
+
+        @Test
+        @DisplayName("Should build the prefetched level without touching the current one")
+        void shouldBuildPrefetchedLevelSeparately() {
+            when(mockModel.getSelectedDungeon()).thenReturn("Dungeon 1");
+            loader.loadDungeon(0);
+            Player current = gameModel.getPlayer();
+
+            Loader.PreparedLevel prepared = loader.prefetch(1).join();
+
+            assertNotNull(prepared);
+            assertEquals(1, prepared.getLevel());
+            assertNotSame(gameModel, prepared.getGameModel());
+            assertNotNull(prepared.getGameModel().getPlayer());
+            assertNotNull(prepared.getGameModel().getTileMap());
+            assertSame(current, gameModel.getPlayer());
+            assertSame(gameModel, loader.getGameModel());
+            loader.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should carry player health over when activating a prefetched level")
+        void shouldCarryHealthOverOnActivate() {
+            when(mockModel.getSelectedDungeon()).thenReturn("Dungeon 1");
+            loader.loadDungeon(0);
+            gameModel.getPlayer().setHealth(42);
+
+            Loader.PreparedLevel prepared = loader.prefetch(1).join();
+            loader.activate(prepared);
+
+            assertSame(prepared.getGameModel(), loader.getGameModel());
+            assertEquals(42, loader.getGameModel().getPlayer().getHealth());
+            loader.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should keep the assets of both levels while prefetching with a small budget")
+        void shouldKeepAssetsOfBothLevelsWhilePrefetching() {
+            AssetCache<String, Image[]> cache = ImageDatabase.getCache();
+            long budget = cache.getBudgetBytes();
+            when(mockModel.getSelectedDungeon()).thenReturn("Dungeon 1");
+            SimulationEngine engine = new SimulationEngine(gameModel, loader, mock(SimulationListener.class));
+            try {
+                // Anything not pinned is dropped at once
+                cache.setBudgetBytes(0);
+                engine.start();
+                engine.runTicks(100, GameConstants.SIMULATION_STEP_MILLIS);
+                Loader.PreparedLevel prepared = loader.prefetch(1).join();
+                Image[] enemyFrames = ImageDatabase.getAnimationFrames('E');
+                Image[] playerFrames = ImageDatabase.getAnimationFrames('P');
+
+                char[][][] dungeon = DungeonDatabase.getDungeonLayoutByName("Dungeon 1");
+                for (char[][] layout : new char[][][] { dungeon[0], dungeon[1] }) {
+                    for (char[] row : layout) {
+                        for (char key : row) {
+                            assertTrue(cache.isPinned("image:" + key) || cache.isPinned("animation:" + key),
+                                    "Assets of '" + key + "' were dropped");
+                        }
+                    }
+                }
+                // Still the arrays the entities were built with, not reloaded copies
+                assertSame(enemyFrames, ImageDatabase.getAnimationFrames('E'));
+                assertSame(playerFrames, ImageDatabase.getAnimationFrames('P'));
+
+                loader.activate(prepared);
+                assertSame(playerFrames, ImageDatabase.getAnimationFrames('P'));
+                assertTrue(cache.isPinned("animation:P"));
+            } finally {
+                engine.stop();
+                cache.setBudgetBytes(budget);
+            }
+        }
+
+        @Test
+        @DisplayName("Should prefetch nothing past the last level")
+        void shouldPrefetchNothingPastLastLevel() {
+            when(mockModel.getSelectedDungeon()).thenReturn("Dungeon 1");
+
+            assertNull(loader.prefetch(-1).join());
+            assertNull(loader.prefetch(1000).join());
+        }
+    }
+
     private char[][][] createTestDungeon() {
         return new char[][][] {
             {
@@ -0,0 +1,85 @@
+package rougelike.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Phase Histogram Tests")
+class PhaseHistogramTest {
+
+    private PhaseHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new PhaseHistogram();
+    }
+
+    @Test
+    @DisplayName("Should report zero when empty")
+    void shouldReportZeroWhenEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should count small values exactly")
+    void shouldCountSmallValuesExactly() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(10, histogram.getPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Should estimate percentiles within the bucket precision")
+    void shouldEstimatePercentilesWithinPrecision() {
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / 16.0);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should never report a percentile above the maximum")
+    void shouldNotExceedMaximum() {
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.getPercentile(99));
+    }
+
+    @Test
+    @DisplayName("Should keep the exact maximum of huge values")
+    void shouldKeepHugeMaximum() {
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    @DisplayName("Should forget everything on reset")
+    void shouldForgetOnReset() {
+        histogram.record(100);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should reject percentiles outside 0 to 100")
+    void shouldRejectInvalidPercentiles() {
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(-1));
+    }
+}
@@ -0,0 +1,125 @@
+package rougelike.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+
+@Tag("unit")
+@DisplayName("Simulation Clock Tests")
+class SimulationClockTest {
+    
+    private static final double STEP_MILLIS = 10.0;
+    private static final int MAX_STEPS = 5;
+    
+    private SimulationClock clock;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new SimulationClock(STEP_MILLIS, MAX_STEPS);
+    }
+    
+    @Nested
+    @DisplayName("Step Accumulation Tests")
+    class StepAccumulationTests {
+        
+        @Test
+        @DisplayName("Should not step on the first frame")
+        void shouldNotStepOnFirstFrame() {
+            assertEquals(0, clock.advance(5_000_000_000L));
+        }
+        
+        @Test
+        @DisplayName("Should run whole steps and keep the remainder")
+        void shouldRunWholeStepsAndKeepRemainder() {
+            assertEquals(2, clock.advanceMillis(25.0));
+            assertEquals(0.5, clock.getAlpha(), 0.0001);
+            
+            assertEquals(1, clock.advanceMillis(5.0));
+            assertEquals(0.0, clock.getAlpha(), 0.0001);
+        }
+        
+        @Test
+        @DisplayName("Should convert nanosecond timestamps")
+        void shouldConvertNanosecondTimestamps() {
+            clock.advance(0L);
+            
+            assertEquals(3, clock.advance(30_000_000L));
+            assertEquals(30.0, clock.getLastFrameMillis(), 0.0001);
+        }
+        
+        @Test
+        @DisplayName("Should produce the same steps regardless of frame rate")
+        void shouldProduceSameStepsRegardlessOfFrameRate() {
+            SimulationClock other = new SimulationClock(STEP_MILLIS, MAX_STEPS);
+            int fastFrames = 0;
+            int slowFrames = 0;
+            
+            for (int i = 0; i < 40; i++) {
+                fastFrames += clock.advanceMillis(5.0);
+            }
+            for (int i = 0; i < 5; i++) {
+                slowFrames += other.advanceMillis(40.0);
+            }
+            
+            assertEquals(fastFrames, slowFrames);
+        }
+    }
+    
+    @Nested
+    @DisplayName("Catch-up Limit Tests")
+    class CatchUpLimitTests {
+        
+        @Test
+        @DisplayName("Should cap steps after a long hitch")
+        void shouldCapStepsAfterLongHitch() {
+            assertEquals(MAX_STEPS, clock.advanceMillis(1000.0));
+        }
+        
+        @Test
+        @DisplayName("Should drop the backlog after a capped frame")
+        void shouldDropBacklogAfterCappedFrame() {
+            clock.advanceMillis(1000.0);
+            
+            assertTrue(clock.getAlpha() < 1.0);
+            assertEquals(0, clock.advanceMillis(0.0));
+        }
+        
+        @Test
+        @DisplayName("Should ignore negative elapsed time")
+        void shouldIgnoreNegativeElapsedTime() {
+            assertEquals(0, clock.advanceMillis(-50.0));
+            assertEquals(0.0, clock.getAlpha());
+        }
+    }
+    
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+        
+        @Test
+        @DisplayName("Should reject non-positive step length")
+        void shouldRejectNonPositiveStepLength() {
+            assertThrows(IllegalArgumentException.class, () -> new SimulationClock(0, MAX_STEPS));
+        }
+        
+        @Test
+        @DisplayName("Should reject non-positive catch-up limit")
+        void shouldRejectNonPositiveCatchUpLimit() {
+            assertThrows(IllegalArgumentException.class, () -> new SimulationClock(STEP_MILLIS, 0));
+        }
+        
+        @Test
+        @DisplayName("Should restart timing after reset")
+        void shouldRestartTimingAfterReset() {
+            clock.advanceMillis(15.0);
+            clock.reset();
+            
+            assertEquals(0.0, clock.getAlpha());
+            assertEquals(0, clock.advance(123_000_000L));
+        }
+    }
+}
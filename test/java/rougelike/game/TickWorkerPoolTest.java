@@ -0,0 +1,138 @@
+package rougelike.game;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+
+@Tag("unit")
+@DisplayName("Tick Worker Pool Tests")
+class TickWorkerPoolTest {
+    
+    private static final int WORKERS = 3;
+    
+    private TickWorkerPool pool;
+    
+    @BeforeEach
+    void setUp() {
+        pool = new TickWorkerPool(WORKERS);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Nested
+    @DisplayName("Phase Execution Tests")
+    class PhaseExecutionTests {
+        
+        @Test
+        @DisplayName("Should run every partition exactly once per phase")
+        void shouldRunEveryPartitionOncePerPhase() {
+            AtomicIntegerArray runs = new AtomicIntegerArray(WORKERS);
+            
+            for (int phase = 0; phase < 100; phase++) {
+                pool.runPhase((worker, workers) -> runs.incrementAndGet(worker));
+            }
+            
+            for (int i = 0; i < WORKERS; i++) {
+                assertEquals(100, runs.get(i));
+            }
+        }
+        
+        @Test
+        @DisplayName("Should finish all partitions before returning")
+        void shouldFinishAllPartitionsBeforeReturning() {
+            int[] values = new int[1000];
+            
+            pool.runPhase((worker, workers) -> {
+                int end = TickWorkerPool.partitionEnd(values.length, worker, workers);
+                for (int i = TickWorkerPool.partitionStart(values.length, worker, workers); i < end; i++) {
+                    values[i] = i;
+                }
+            });
+            
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(i, values[i]);
+            }
+        }
+        
+        @Test
+        @DisplayName("Should report a failing partition and stay usable")
+        void shouldReportFailingPartitionAndStayUsable() {
+            RuntimeException failure = assertThrows(RuntimeException.class, () ->
+                pool.runPhase((worker, workers) -> {
+                    if (worker == WORKERS - 1) {
+                        throw new IllegalStateException("boom");
+                    }
+                }));
+            
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+            assertDoesNotThrow(() -> pool.runPhase((worker, workers) -> { }));
+        }
+        
+        @Test
+        @DisplayName("Should run on the calling thread with a single worker")
+        void shouldRunOnCallingThreadWithSingleWorker() {
+            TickWorkerPool single = new TickWorkerPool(1);
+            Thread[] runner = new Thread[1];
+            
+            single.runPhase((worker, workers) -> runner[0] = Thread.currentThread());
+            single.shutdown();
+            
+            assertEquals(Thread.currentThread(), runner[0]);
+        }
+    }
+    
+    @Nested
+    @DisplayName("Partition Tests")
+    class PartitionTests {
+        
+        @Test
+        @DisplayName("Should cover the range without gaps or overlap")
+        void shouldCoverRangeWithoutGapsOrOverlap() {
+            int size = 10;
+            int expectedStart = 0;
+            
+            for (int worker = 0; worker < WORKERS; worker++) {
+                assertEquals(expectedStart, TickWorkerPool.partitionStart(size, worker, WORKERS));
+                expectedStart = TickWorkerPool.partitionEnd(size, worker, WORKERS);
+            }
+            
+            assertEquals(size, expectedStart);
+        }
+        
+        @Test
+        @DisplayName("Should give empty partitions when there are more workers than elements")
+        void shouldGiveEmptyPartitionsForSmallRanges() {
+            assertEquals(0, TickWorkerPool.partitionEnd(1, 0, WORKERS) - TickWorkerPool.partitionStart(1, 0, WORKERS));
+        }
+    }
+    
+    @Nested
+    @DisplayName("Lifecycle Tests")
+    class LifecycleTests {
+        
+        @Test
+        @DisplayName("Should reject phases after shutdown")
+        void shouldRejectPhasesAfterShutdown() {
+            pool.shutdown();
+            
+            assertTrue(pool.isShutdown());
+            assertThrows(IllegalStateException.class, () -> pool.runPhase((worker, workers) -> { }));
+        }
+        
+        @Test
+        @DisplayName("Should reject non-positive worker count")
+        void shouldRejectNonPositiveWorkerCount() {
+            assertThrows(IllegalArgumentException.class, () -> new TickWorkerPool(0));
+        }
+    }
+}
@@ -98,6 +98,42 @@ class CollisionDetectionTest {
         }
     }
     
+    @Nested
+    @DisplayName("Swept AABB Tests")
+    class SweptAabbTests {
+
+        @Test
+        @DisplayName("Should find the time of impact of a box passing through another")
+        void shouldFindTimeOfImpactWhenTunnelling() {
+            // Moves from x=0 to x=200 in one step, straight through the box at x=100
+            double time = CollisionDetection.sweptAabb(0, 100, 10, 10, 200, 0, 100, 100, 32, 32);
+
+            assertEquals(0.45, time, 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should miss boxes outside the path")
+        void shouldMissBoxesOutsidePath() {
+            assertEquals(CollisionDetection.NO_HIT,
+                    CollisionDetection.sweptAabb(0, 0, 10, 10, 200, 0, 100, 100, 32, 32));
+            assertEquals(CollisionDetection.NO_HIT,
+                    CollisionDetection.sweptAabb(0, 100, 10, 10, 50, 0, 100, 100, 32, 32));
+        }
+
+        @Test
+        @DisplayName("Should report zero for boxes that already overlap")
+        void shouldReportZeroForOverlappingBoxes() {
+            assertEquals(0, CollisionDetection.sweptAabb(105, 105, 10, 10, 0, 0, 100, 100, 32, 32));
+        }
+
+        @Test
+        @DisplayName("Should not count touching edges as a hit")
+        void shouldNotCountTouchingEdges() {
+            assertEquals(CollisionDetection.NO_HIT,
+                    CollisionDetection.sweptAabb(90, 132, 10, 10, 50, 0, 100, 100, 32, 32));
+        }
+    }
+
     @Nested
     @DisplayName("Collision Resolution Tests")
     class CollisionResolutionTests {
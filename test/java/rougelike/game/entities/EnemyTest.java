@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 
 @DisplayName("Enemy Entity Tests")
@@ -211,6 +212,25 @@ class EnemyTest {
                 }
             });
         }
+
+        @Test
+        @DisplayName("Should report a frame change only until the new frame is rendered")
+        void shouldReportFrameChangeUntilRendered() {
+            GraphicsContext gc = mock(GraphicsContext.class);
+            assertTrue(enemy.hasFrameChanged(), "Never rendered");
+
+            enemy.render(gc);
+            assertFalse(enemy.hasFrameChanged());
+
+            enemy.update(TIME_PER_IMAGE / 2);
+            assertFalse(enemy.hasFrameChanged(), "Still on the same frame");
+
+            enemy.update(TIME_PER_IMAGE / 2);
+            assertTrue(enemy.hasFrameChanged());
+
+            enemy.render(gc);
+            assertFalse(enemy.hasFrameChanged());
+        }
     }
     
     @Nested
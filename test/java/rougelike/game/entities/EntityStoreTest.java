@@ -0,0 +1,176 @@
+package rougelike.game.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import javafx.scene.image.Image;
+
+@Tag("unit")
+@Tag("entities")
+@DisplayName("Entity Store Tests")
+class EntityStoreTest {
+
+    private EntityStore store;
+    private Image mockImage;
+
+    @BeforeEach
+    void setUp() {
+        store = new EntityStore();
+        mockImage = mock(Image.class);
+    }
+
+    private Entity createMockEntity(double x, double y, double width, double height) {
+        return new Entity(x, y, width, height, mockImage) {
+            @Override
+            public void render(javafx.scene.canvas.GraphicsContext gc) {
+                // Mock implementation
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Attach and Detach Tests")
+    class AttachTests {
+
+        @Test
+        @DisplayName("Should move entity state into the columns")
+        void shouldMoveEntityStateIntoColumns() {
+            Entity entity = createMockEntity(10, 20, 30, 40);
+            store.add(entity);
+
+            assertEquals(1, store.size());
+            assertEquals(0, entity.getStoreIndex());
+            assertSame(entity, store.getOwner(0));
+
+            entity.setPositionX(15);
+            assertEquals(15, store.getPositionX(0));
+            assertEquals(40, entity.getHeight());
+        }
+
+        @Test
+        @DisplayName("Should copy state back to the entity on removal")
+        void shouldCopyStateBackOnRemoval() {
+            Entity entity = createMockEntity(10, 20, 30, 40);
+            store.add(entity);
+            entity.setPositionY(55);
+            store.remove(entity);
+
+            assertEquals(0, store.size());
+            assertEquals(-1, entity.getStoreIndex());
+            assertEquals(55, entity.getPositionY());
+        }
+
+        @Test
+        @DisplayName("Should swap the last slot into a removed slot")
+        void shouldSwapLastSlotIntoRemovedSlot() {
+            Entity first = createMockEntity(0, 0, 10, 10);
+            Entity second = createMockEntity(100, 0, 10, 10);
+            Entity third = createMockEntity(200, 0, 10, 10);
+            store.add(first);
+            store.add(second);
+            store.add(third);
+
+            store.remove(first);
+
+            assertEquals(2, store.size());
+            assertEquals(0, third.getStoreIndex());
+            assertSame(third, store.getOwner(0));
+            assertEquals(200, third.getPositionX());
+            assertEquals(100, second.getPositionX());
+        }
+
+        @Test
+        @DisplayName("Should keep an entity attached until every reference is removed")
+        void shouldCountReferences() {
+            Entity entity = createMockEntity(0, 0, 10, 10);
+            store.add(entity);
+            store.add(entity);
+
+            store.remove(entity);
+            assertEquals(1, store.size());
+
+            store.remove(entity);
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should ignore null entities")
+        void shouldIgnoreNullEntities() {
+            assertDoesNotThrow(() -> {
+                store.add(null);
+                store.remove(null);
+            });
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should reject entities attached to another store")
+        void shouldRejectEntitiesOfAnotherStore() {
+            Entity entity = createMockEntity(0, 0, 10, 10);
+            new EntityStore().add(entity);
+
+            assertThrows(IllegalStateException.class, () -> store.add(entity));
+        }
+
+        @Test
+        @DisplayName("Should grow beyond the initial capacity")
+        void shouldGrowBeyondInitialCapacity() {
+            for (int i = 0; i < 500; i++) {
+                store.add(createMockEntity(i, i, 1, 1));
+            }
+
+            assertEquals(500, store.size());
+            assertEquals(499, store.getOwner(499).getPositionX());
+        }
+
+        @Test
+        @DisplayName("Should detach every entity on clear")
+        void shouldDetachEveryEntityOnClear() {
+            Entity entity = createMockEntity(5, 5, 10, 10);
+            store.add(entity);
+            store.clear();
+
+            assertEquals(0, store.size());
+            assertEquals(-1, entity.getStoreIndex());
+            assertEquals(5, entity.getPositionX());
+        }
+    }
+
+    @Nested
+    @DisplayName("Overlap Tests")
+    class OverlapTests {
+
+        @Test
+        @DisplayName("Should agree with AABB collision detection")
+        void shouldAgreeWithAabb() {
+            Entity a = createMockEntity(100, 100, 50, 50);
+            Entity b = createMockEntity(125, 125, 50, 50);
+            Entity c = createMockEntity(150, 100, 50, 50);
+            store.add(a);
+            store.add(b);
+            store.add(c);
+
+            assertEquals(CollisionDetection.Aabb(a, b), store.overlaps(0, 1));
+            assertEquals(CollisionDetection.Aabb(a, c), store.overlaps(0, 2));
+            assertTrue(store.overlaps(0, 1));
+            assertFalse(store.overlaps(0, 2));
+        }
+
+        @Test
+        @DisplayName("Should tag entities by type")
+        void shouldTagEntitiesByType() {
+            store.add(createMockEntity(0, 0, 10, 10));
+            store.add(new Projectile(10, 10, 8, 8, mockImage, 1, 1, 0, 10));
+
+            assertEquals(EntityStore.TYPE_ENTITY, store.getType(0));
+            assertEquals(EntityStore.TYPE_PROJECTILE, store.getType(1));
+            assertFalse(EntityStore.isElementType(store.getType(0)));
+            assertTrue(EntityStore.isElementType(store.getType(1)));
+        }
+    }
+}
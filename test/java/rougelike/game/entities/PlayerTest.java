@@ -8,7 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import rougelike.game.graphics.DirtyRegionTracker;
 import utils.MockFactory;
 
 @Tag("integration")
@@ -241,5 +243,98 @@ class PlayerTest {
         void shouldUpdateAnimationWhenIdle() {
             assertDoesNotThrow(() -> player.move(16));
         }
+
+        @Test
+        @DisplayName("Should leave nothing to draw on a pulse with a still player and unchanged frame")
+        void shouldLeaveNothingToDrawWhileStill() {
+            DirtyRegionTracker tracker = new DirtyRegionTracker();
+            GraphicsContext gc = mock(GraphicsContext.class);
+
+            assertTrue(pulse(tracker, gc) > 0, "First pulse draws the player");
+
+            player.move(16);
+            assertEquals(0, pulse(tracker, gc));
+            player.move(16);
+            assertEquals(0, pulse(tracker, gc));
+
+            player.moveRight();
+            player.move(16);
+            assertTrue(pulse(tracker, gc) > 0, "Moving redraws the player");
+
+            player.stopMovingRight();
+            player.move(16);
+            assertTrue(pulse(tracker, gc) > 0, "Switching to the idle sprite redraws the player");
+
+            player.move(16);
+            assertEquals(0, pulse(tracker, gc));
+        }
+
+        /**
+         * Track the player like the renderer does and draw it if it is dirty.
+         *
+         * @return The number of dirty rectangles of the pulse
+         */
+        private int pulse(DirtyRegionTracker tracker, GraphicsContext gc) {
+            player.setRenderAlpha(1.0);
+            tracker.beginFrame();
+            tracker.track(player, player.getRenderX(), player.getRenderY(), player.getWidth(), player.getHeight(),
+                    player.hasFrameChanged());
+            tracker.endFrame();
+            if (tracker.getDirtyCount() > 0) {
+                player.render(gc);
+            }
+            return tracker.getDirtyCount();
+        }
+    }
+
+    @Nested
+    @DisplayName("Status Notification Tests")
+    class StatusNotificationTests {
+
+        @Test
+        @DisplayName("Should notify listeners when health changes")
+        void shouldNotifyOnHealthChange() {
+            PlayerStatusListener listener = mock(PlayerStatusListener.class);
+            player.addStatusListener(listener);
+
+            player.takeDamage(10);
+
+            verify(listener).onPlayerStatusChanged(player);
+        }
+
+        @Test
+        @DisplayName("Should not notify listeners when health stays the same")
+        void shouldNotNotifyWithoutChange() {
+            PlayerStatusListener listener = mock(PlayerStatusListener.class);
+            player.addStatusListener(listener);
+
+            player.heal(10);
+
+            verify(listener, never()).onPlayerStatusChanged(any());
+        }
+
+        @Test
+        @DisplayName("Should notify listeners when an item is added to the inventory")
+        void shouldNotifyOnInventoryChange() {
+            PlayerStatusListener listener = mock(PlayerStatusListener.class);
+            player.addStatusListener(listener);
+
+            player.addToInventory("Key");
+
+            verify(listener).onPlayerStatusChanged(player);
+            assertEquals(1, player.getInventory().size());
+        }
+
+        @Test
+        @DisplayName("Should stop notifying removed listeners")
+        void shouldStopNotifyingRemovedListeners() {
+            PlayerStatusListener listener = mock(PlayerStatusListener.class);
+            player.addStatusListener(listener);
+            player.removeStatusListener(listener);
+
+            player.takeDamage(10);
+
+            verify(listener, never()).onPlayerStatusChanged(any());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package rougelike.game.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import javafx.scene.image.Image;
+
+@Tag("unit")
+@Tag("entities")
+@DisplayName("Projectile Sweep Tests")
+class ProjectileSweepTest {
+
+    private ProjectileSweep sweep;
+    private Image mockImage;
+    private List<Enemy> enemiesHit;
+    private List<Projectile> wallHits;
+    private ProjectileSweep.HitListener listener;
+
+    @BeforeEach
+    void setUp() {
+        sweep = new ProjectileSweep();
+        mockImage = mock(Image.class);
+        enemiesHit = new ArrayList<>();
+        wallHits = new ArrayList<>();
+        listener = new ProjectileSweep.HitListener() {
+            @Override
+            public void onEnemyHit(Projectile projectile, Enemy enemy) {
+                enemiesHit.add(enemy);
+            }
+
+            @Override
+            public void onWallHit(Projectile projectile) {
+                wallHits.add(projectile);
+            }
+        };
+    }
+
+    private Projectile createProjectileMovingTo(double fromX, double y, double toX) {
+        Projectile projectile = new Projectile(fromX, y, 8, 8, mockImage, 1, 1, 0, 10);
+        projectile.setPositionX(toX);
+        return projectile;
+    }
+
+    private Enemy createEnemy(double x, double y) {
+        Image[] frames = { mockImage, mockImage, mockImage, mockImage };
+        return new Enemy(x, y, 32, 32, frames, 50, 5, 0.05, 100.0, 0.5);
+    }
+
+    @Test
+    @DisplayName("Should hit an enemy the projectile jumped over")
+    void shouldHitEnemyJumpedOver() {
+        Projectile projectile = createProjectileMovingTo(0, 110, 300);
+        Enemy enemy = createEnemy(100, 100);
+        assertFalse(CollisionDetection.Aabb(projectile, enemy));
+
+        sweep.sweep(List.of(projectile), List.of(enemy), null, listener);
+
+        assertEquals(List.of(enemy), enemiesHit);
+    }
+
+    @Test
+    @DisplayName("Should report only the first enemy on the path")
+    void shouldReportFirstEnemyOnly() {
+        Projectile projectile = createProjectileMovingTo(0, 110, 300);
+        Enemy far = createEnemy(200, 100);
+        Enemy near = createEnemy(100, 100);
+
+        sweep.sweep(List.of(projectile), List.of(far, near), null, listener);
+
+        assertEquals(List.of(near), enemiesHit);
+    }
+
+    @Test
+    @DisplayName("Should not hit enemies away from the path")
+    void shouldNotHitEnemiesAwayFromPath() {
+        Projectile projectile = createProjectileMovingTo(0, 110, 300);
+
+        sweep.sweep(List.of(projectile), List.of(createEnemy(100, 200), createEnemy(400, 100)), null, listener);
+
+        assertTrue(enemiesHit.isEmpty());
+        assertTrue(wallHits.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop at a wall in front of an enemy")
+    void shouldStopAtWallBeforeEnemy() {
+        TileOccupancy occupancy = new TileOccupancy(10, 10, 32, 32);
+        occupancy.setBlocked(3, 1);
+        Projectile projectile = createProjectileMovingTo(0, 110, 300);
+
+        sweep.sweep(List.of(projectile), List.of(createEnemy(100, 100)), occupancy, listener);
+
+        assertTrue(enemiesHit.isEmpty());
+        assertEquals(List.of(projectile), wallHits);
+    }
+
+    @Test
+    @DisplayName("Should give every projectile its own hit")
+    void shouldHandleManyProjectiles() {
+        List<Projectile> projectiles = new ArrayList<>();
+        List<Enemy> enemies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            projectiles.add(createProjectileMovingTo(0, i * 40 + 10, 300));
+            enemies.add(createEnemy(150, i * 40));
+        }
+
+        sweep.sweep(projectiles, enemies, null, listener);
+
+        assertEquals(enemies, enemiesHit);
+    }
+}
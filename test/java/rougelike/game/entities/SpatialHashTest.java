@@ -0,0 +1,251 @@
+package rougelike.game.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import javafx.scene.image.Image;
+
+@Tag("unit")
+@Tag("entities")
+@DisplayName("Spatial Hash Tests")
+class SpatialHashTest {
+
+    private SpatialHash spatialHash;
+    private Image mockImage;
+
+    @BeforeEach
+    void setUp() {
+        spatialHash = new SpatialHash(32, 32);
+        mockImage = mock(Image.class);
+    }
+
+    private Entity createMockEntity(double x, double y, double width, double height) {
+        return new Entity(x, y, width, height, mockImage) {
+            @Override
+            public void render(javafx.scene.canvas.GraphicsContext gc) {
+                // Mock implementation
+            }
+        };
+    }
+
+    private List<Entity> query(Entity entity) {
+        List<Entity> candidates = new ArrayList<>();
+        spatialHash.query(entity, candidates);
+        return candidates;
+    }
+
+    @Nested
+    @DisplayName("Rectangle Query Tests")
+    class RectangleQueryTests {
+
+        @Test
+        @DisplayName("Should report an entity spanning several cells once")
+        void shouldReportSpanningEntityOnce() {
+            Entity large = createMockEntity(20, 20, 80, 80);
+            spatialHash.insert(large);
+
+            List<Entity> results = new ArrayList<>();
+            spatialHash.queryRect(0, 0, 128, 128, results);
+
+            assertEquals(List.of(large), results);
+        }
+
+        @Test
+        @DisplayName("Should report an entity starting left of the rectangle")
+        void shouldReportEntityStartingOutside() {
+            Entity large = createMockEntity(0, 0, 80, 80);
+            spatialHash.insert(large);
+
+            List<Entity> results = new ArrayList<>();
+            spatialHash.queryRect(64, 64, 64, 64, results);
+
+            assertEquals(List.of(large), results);
+        }
+
+        @Test
+        @DisplayName("Should leave out entities outside the rectangle")
+        void shouldLeaveOutDistantEntities() {
+            Entity near = createMockEntity(10, 10, 16, 16);
+            Entity far = createMockEntity(500, 500, 16, 16);
+            spatialHash.insert(near);
+            spatialHash.insert(far);
+
+            List<Entity> results = new ArrayList<>();
+            spatialHash.queryRect(0, 0, 100, 100, results);
+
+            assertEquals(List.of(near), results);
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should find entities in the same cell")
+        void shouldFindEntitiesInSameCell() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            Entity neighbour = createMockEntity(10, 10, 16, 16);
+            spatialHash.insert(neighbour);
+
+            assertEquals(List.of(neighbour), query(mover));
+        }
+
+        @Test
+        @DisplayName("Should not find entities in distant cells")
+        void shouldNotFindDistantEntities() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            spatialHash.insert(createMockEntity(200, 200, 32, 32));
+
+            assertTrue(query(mover).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should report an entity spanning several cells once")
+        void shouldReportSpanningEntityOnce() {
+            Entity mover = createMockEntity(0, 0, 64, 64);
+            Entity wide = createMockEntity(16, 16, 40, 40);
+            spatialHash.insert(wide);
+
+            assertEquals(1, query(mover).size());
+        }
+
+        @Test
+        @DisplayName("Should leave the queried entity out of the candidates")
+        void shouldLeaveQueriedEntityOut() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            spatialHash.insert(mover);
+
+            assertTrue(query(mover).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should find every entity that overlaps the queried one")
+        void shouldFindEveryOverlappingEntity() {
+            Entity mover = createMockEntity(50, 50, 32, 32);
+            List<Entity> all = new ArrayList<>();
+            for (int x = 0; x < 160; x += 20) {
+                for (int y = 0; y < 160; y += 20) {
+                    Entity entity = createMockEntity(x, y, 32, 32);
+                    all.add(entity);
+                    spatialHash.insert(entity);
+                }
+            }
+
+            List<Entity> candidates = query(mover);
+            for (Entity entity : all) {
+                if (CollisionDetection.Aabb(mover, entity)) {
+                    assertTrue(candidates.contains(entity));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should follow an entity that moved to another cell")
+        void shouldFollowMovedEntity() {
+            Entity mover = createMockEntity(200, 200, 16, 16);
+            Entity moving = createMockEntity(4, 4, 16, 16);
+            spatialHash.insert(moving);
+            assertTrue(query(mover).isEmpty());
+
+            moving.setPositionX(205);
+            moving.setPositionY(205);
+            spatialHash.update(moving);
+
+            assertEquals(List.of(moving), query(mover));
+            assertTrue(query(createMockEntity(4, 4, 16, 16)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should stop reporting removed entities")
+        void shouldStopReportingRemovedEntities() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            Entity neighbour = createMockEntity(10, 10, 16, 16);
+            spatialHash.insert(neighbour);
+            spatialHash.remove(neighbour);
+
+            assertTrue(query(mover).isEmpty());
+            assertFalse(spatialHash.contains(neighbour));
+        }
+
+        @Test
+        @DisplayName("Should ignore repeated inserts and untracked updates")
+        void shouldIgnoreRepeatedInserts() {
+            Entity entity = createMockEntity(4, 4, 16, 16);
+            spatialHash.insert(entity);
+            spatialHash.insert(entity);
+
+            assertEquals(1, spatialHash.size());
+            assertDoesNotThrow(() -> spatialHash.update(createMockEntity(0, 0, 1, 1)));
+            assertDoesNotThrow(() -> spatialHash.insert(null));
+        }
+
+        @Test
+        @DisplayName("Should re-bucket entities when the cell size changes")
+        void shouldRebucketOnCellSizeChange() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            Entity neighbour = createMockEntity(100, 100, 16, 16);
+            spatialHash.insert(neighbour);
+            assertTrue(query(mover).isEmpty());
+
+            spatialHash.setCellSize(128, 128);
+
+            assertEquals(List.of(neighbour), query(mover));
+        }
+
+        @Test
+        @DisplayName("Should keep finding entities after the cell table grew")
+        void shouldFindEntitiesAfterGrowing() {
+            List<Entity> entities = new ArrayList<>();
+            for (int row = -20; row < 20; row++) {
+                for (int col = -20; col < 20; col++) {
+                    Entity entity = createMockEntity(col * 32 + 8, row * 32 + 8, 16, 16);
+                    entities.add(entity);
+                    spatialHash.insert(entity);
+                }
+            }
+
+            for (Entity entity : entities) {
+                Entity probe = createMockEntity(entity.getPositionX() + 2, entity.getPositionY() + 2, 4, 4);
+                assertEquals(List.of(entity), query(probe));
+            }
+            assertEquals(entities.size(), spatialHash.size());
+        }
+
+        @Test
+        @DisplayName("Should reuse a cell that became empty")
+        void shouldReuseEmptiedCell() {
+            Entity mover = createMockEntity(4, 4, 16, 16);
+            Entity probe = createMockEntity(6, 6, 4, 4);
+            spatialHash.insert(mover);
+            mover.setPositionX(200);
+            spatialHash.update(mover);
+            assertTrue(query(probe).isEmpty());
+
+            mover.setPositionX(4);
+            spatialHash.update(mover);
+
+            assertEquals(List.of(mover), query(probe));
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive cell sizes")
+        void shouldRejectNonPositiveCellSizes() {
+            assertThrows(IllegalArgumentException.class, () -> new SpatialHash(0, 32));
+            assertThrows(IllegalArgumentException.class, () -> spatialHash.setCellSize(32, -1));
+        }
+    }
+}
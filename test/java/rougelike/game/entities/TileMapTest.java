@@ -0,0 +1,103 @@
+package rougelike.game.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+@Tag("unit")
+@Tag("entities")
+@DisplayName("Tile Map Tests")
+class TileMapTest {
+
+    private Image floorImage;
+    private Image wallImage;
+    private TileMap tileMap;
+    private byte wall;
+
+    @BeforeEach
+    void setUp() {
+        floorImage = mock(Image.class);
+        wallImage = mock(Image.class);
+        tileMap = new TileMap(4, 6, 32, 32, new TileType(' ', floorImage, false));
+        wall = tileMap.addType(new TileType('W', wallImage, true));
+    }
+
+    @Nested
+    @DisplayName("Tile Type Tests")
+    class TileTypeTests {
+
+        @Test
+        @DisplayName("Should start with every cell of the base type")
+        void shouldStartWithBaseType() {
+            assertEquals(TileMap.BASE, tileMap.getTile(3, 5));
+            assertEquals(' ', tileMap.getType(3, 5).getCode());
+            assertFalse(tileMap.getOccupancy().isBlocked(3, 5));
+        }
+
+        @Test
+        @DisplayName("Should share one type between all cells")
+        void shouldShareTypes() {
+            tileMap.setTile(0, 0, wall);
+            tileMap.setTile(2, 4, wall);
+
+            assertSame(tileMap.getType(0, 0), tileMap.getType(2, 4));
+            assertEquals(2, tileMap.getTypeCount());
+        }
+
+        @Test
+        @DisplayName("Should reject unknown types and cells outside the map")
+        void shouldRejectInvalidTiles() {
+            assertThrows(IllegalArgumentException.class, () -> tileMap.setTile(0, 0, (byte) 5));
+            assertThrows(IndexOutOfBoundsException.class, () -> tileMap.setTile(4, 0, wall));
+            assertNull(tileMap.getType(-1, 0));
+        }
+
+        @Test
+        @DisplayName("Should hold at most 256 types")
+        void shouldLimitTypes() {
+            for (int i = tileMap.getTypeCount(); i < 256; i++) {
+                tileMap.addType(new TileType('x', null, false));
+            }
+
+            assertEquals(256, tileMap.getTypeCount());
+            assertThrows(IllegalStateException.class, () -> tileMap.addType(new TileType('x', null, false)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should block the cells of blocking types")
+    void shouldBlockBlockingCells() {
+        tileMap.setTile(1, 2, wall);
+
+        assertTrue(tileMap.getOccupancy().isBlocked(1, 2));
+        assertFalse(tileMap.getOccupancy().isBlocked(1, 3));
+    }
+
+    @Test
+    @DisplayName("Should span the world of its cells")
+    void shouldSpanWorld() {
+        assertEquals(6 * 32, tileMap.getWorldWidth());
+        assertEquals(4 * 32, tileMap.getWorldHeight());
+    }
+
+    @Test
+    @DisplayName("Should draw only the cells inside the rectangle")
+    void shouldDrawVisibleCells() {
+        GraphicsContext gc = mock(GraphicsContext.class);
+        tileMap.setTile(0, 1, wall);
+
+        tileMap.render(gc, 0, 0, 63, 31);
+
+        verify(gc, times(2)).drawImage(same(floorImage), anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        verify(gc).drawImage(wallImage, 32, 0, 32, 32);
+    }
+}
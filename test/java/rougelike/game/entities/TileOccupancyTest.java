@@ -0,0 +1,132 @@
+package rougelike.game.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import javafx.scene.image.Image;
+
+@Tag("unit")
+@Tag("entities")
+@DisplayName("Tile Occupancy Tests")
+class TileOccupancyTest {
+
+    private TileOccupancy occupancy;
+    private Image mockImage;
+
+    @BeforeEach
+    void setUp() {
+        occupancy = new TileOccupancy(10, 10, 32, 32);
+        mockImage = mock(Image.class);
+    }
+
+    private Entity createMockEntity(double x, double y, double width, double height) {
+        return new Entity(x, y, width, height, mockImage) {
+            @Override
+            public void render(javafx.scene.canvas.GraphicsContext gc) {
+                // Mock implementation
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Bitmap Tests")
+    class BitmapTests {
+
+        @Test
+        @DisplayName("Should only report tiles that were blocked")
+        void shouldOnlyReportBlockedTiles() {
+            occupancy.setBlocked(3, 7);
+
+            assertTrue(occupancy.isBlocked(3, 7));
+            assertFalse(occupancy.isBlocked(7, 3));
+            assertFalse(occupancy.isBlocked(3, 6));
+        }
+
+        @Test
+        @DisplayName("Should keep tiles in different words apart")
+        void shouldHandleTilesAcrossWords() {
+            TileOccupancy large = new TileOccupancy(20, 20, 32, 32);
+            large.setBlocked(0, 0);
+            large.setBlocked(19, 19);
+
+            assertTrue(large.isBlocked(0, 0));
+            assertTrue(large.isBlocked(19, 19));
+            assertFalse(large.isBlocked(3, 4)); // index 64, same bit as index 0 in the next word
+        }
+
+        @Test
+        @DisplayName("Should treat tiles outside the level as free")
+        void shouldTreatOutsideTilesAsFree() {
+            assertFalse(occupancy.isBlocked(-1, 0));
+            assertFalse(occupancy.isBlocked(0, 10));
+            assertThrows(IndexOutOfBoundsException.class, () -> occupancy.setBlocked(10, 0));
+        }
+
+        @Test
+        @DisplayName("Should reject invalid dimensions")
+        void shouldRejectInvalidDimensions() {
+            assertThrows(IllegalArgumentException.class, () -> new TileOccupancy(-1, 10, 32, 32));
+            assertThrows(IllegalArgumentException.class, () -> new TileOccupancy(10, 10, 0, 32));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolution Tests")
+    class ResolutionTests {
+
+        @Test
+        @DisplayName("Should detect entities overlapping a blocked tile")
+        void shouldDetectOverlap() {
+            occupancy.setBlocked(2, 2);
+
+            assertTrue(occupancy.overlapsBlocked(createMockEntity(80, 80, 32, 32)));
+            assertFalse(occupancy.overlapsBlocked(createMockEntity(32, 32, 32, 32)));
+        }
+
+        @Test
+        @DisplayName("Should push an entity out of a blocked tile like a wall entity")
+        void shouldPushEntityOutLikeWall() {
+            occupancy.setBlocked(2, 2);
+            Entity wall = createMockEntity(64, 64, 32, 32);
+            Entity fromBitmap = createMockEntity(90, 70, 32, 20);
+            Entity fromWall = createMockEntity(90, 70, 32, 20);
+
+            occupancy.resolve(fromBitmap);
+            CollisionDetection.resolveCollision(fromWall, wall);
+
+            assertFalse(occupancy.overlapsBlocked(fromBitmap));
+            assertEquals(fromWall.getPositionX(), fromBitmap.getPositionX());
+            assertEquals(fromWall.getPositionY(), fromBitmap.getPositionY());
+        }
+    }
+
+    @Nested
+    @DisplayName("World Bounds Tests")
+    class WorldBoundsTests {
+
+        @Test
+        @DisplayName("Should size the world by its tiles")
+        void shouldSizeWorldByTiles() {
+            TileOccupancy large = new TileOccupancy(256, 128, 32, 32);
+
+            assertEquals(128 * 32, large.getWorldWidth());
+            assertEquals(256 * 32, large.getWorldHeight());
+        }
+
+        @Test
+        @DisplayName("Should clamp entities inside the border tiles")
+        void shouldClampInsideBorder() {
+            Entity outside = createMockEntity(-50, 400, 20, 20);
+
+            occupancy.clamp(outside);
+
+            assertEquals(32, outside.getPositionX());
+            assertEquals(320 - 32 - 20, outside.getPositionY());
+        }
+    }
+}
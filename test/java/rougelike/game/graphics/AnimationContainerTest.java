@@ -0,0 +1,120 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.canvas.GraphicsContext;
+
+@DisplayName("Animation Container Tests")
+class AnimationContainerTest {
+
+    private AnimationContainer<Animatable> container;
+    private GraphicsContext gc;
+
+    @BeforeEach
+    void setUp() {
+        container = new AnimationContainer<>();
+        gc = mock(GraphicsContext.class);
+    }
+
+    private static Animatable animationLasting(int frames) {
+        return new Animatable() {
+            private int remaining = frames;
+
+            @Override
+            public void update(double deltaTime) {
+                remaining--;
+            }
+
+            @Override
+            public void renderAnimation(GraphicsContext gc) {
+            }
+
+            @Override
+            public boolean isActive() {
+                return remaining > 0;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should update every animation once per frame")
+    void shouldUpdateEveryAnimationOnce() {
+        Animatable first = mock(Animatable.class);
+        Animatable second = mock(Animatable.class);
+        when(first.isActive()).thenReturn(false);
+        when(second.isActive()).thenReturn(true);
+        container.addAnimation(first);
+        container.addAnimation(second);
+
+        container.renderAnimations(gc, 0.1);
+
+        verify(first).update(0.1);
+        verify(second).update(0.1);
+        verify(second).renderAnimation(gc);
+        verify(first, never()).renderAnimation(gc);
+        assertEquals(1, container.size());
+    }
+
+    @Test
+    @DisplayName("Should hand finished animations to the recycler")
+    void shouldRecycleFinishedAnimations() {
+        List<Animatable> recycled = new ArrayList<>();
+        container.setRecycler(recycled::add);
+        Animatable shortLived = animationLasting(1);
+        Animatable longLived = animationLasting(3);
+        container.addAnimation(shortLived);
+        container.addAnimation(longLived);
+
+        container.renderAnimations(gc, 0.1);
+        assertEquals(List.of(shortLived), recycled);
+
+        container.renderAnimations(gc, 0.1);
+        container.renderAnimations(gc, 0.1);
+        assertEquals(List.of(shortLived, longLived), recycled);
+        assertTrue(container.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should recycle every animation when cleared")
+    void shouldRecycleAllWhenCleared() {
+        List<Animatable> recycled = new ArrayList<>();
+        container.setRecycler(recycled::add);
+        Animatable first = animationLasting(3);
+        Animatable second = animationLasting(3);
+        container.addAnimation(first);
+        container.addAnimation(second);
+
+        container.clear();
+
+        assertTrue(container.isEmpty());
+        assertEquals(List.of(first, second), recycled);
+    }
+
+    @Test
+    @DisplayName("Should grow past its initial capacity")
+    void shouldGrow() {
+        for (int i = 0; i < 100; i++) {
+            container.addAnimation(animationLasting(1 + i % 2));
+        }
+
+        container.renderAnimations(gc, 0.1);
+
+        assertEquals(50, container.size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> container.addAnimation(null));
+        assertThrows(IllegalArgumentException.class, () -> container.renderAnimations(null, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> container.renderAnimations(gc, -1));
+    }
+}
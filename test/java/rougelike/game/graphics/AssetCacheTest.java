@@ -0,0 +1,146 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+
+@DisplayName("Asset Cache Tests")
+class AssetCacheTest {
+
+    private final Map<String, Long> sizes = new HashMap<>();
+    private final List<String> loads = new ArrayList<>();
+    private final List<String> evicted = new ArrayList<>();
+    private AssetCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        sizes.put("floor", 40L);
+        sizes.put("wall", 40L);
+        sizes.put("enemy", 40L);
+        cache = new AssetCache<>(key -> {
+            loads.add(key);
+            return sizes.containsKey(key) ? key : null;
+        }, sizes::get, 100);
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+    }
+
+    @Test
+    @DisplayName("Should load once on first request")
+    void shouldLoadOnce() {
+        assertEquals("floor", cache.get("floor"));
+        assertEquals("floor", cache.get("floor"));
+
+        assertEquals(List.of("floor"), loads);
+        assertEquals(40, cache.getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown assets")
+    void shouldNotCacheUnknownAssets() {
+        assertNull(cache.get("chest"));
+        assertFalse(cache.contains("chest"));
+        assertEquals(0, cache.size());
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should drop the least recently used asset beyond the budget")
+        void shouldEvictLeastRecentlyUsed() {
+            cache.get("floor");
+            cache.get("wall");
+            cache.get("floor");
+            cache.get("enemy");
+
+            assertEquals(List.of("wall"), evicted);
+            assertTrue(cache.contains("floor"));
+            assertEquals(80, cache.getUsedBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep pinned assets")
+        void shouldKeepPinnedAssets() {
+            cache.pin("floor");
+            cache.get("wall");
+            cache.get("enemy");
+
+            assertTrue(cache.contains("floor"));
+            assertEquals(List.of("wall"), evicted);
+        }
+
+        @Test
+        @DisplayName("Should stay over budget while everything is pinned")
+        void shouldStayOverBudgetWhenPinned() {
+            cache.setBudgetBytes(50);
+            cache.pin("floor");
+            cache.pin("wall");
+
+            assertEquals(80, cache.getUsedBytes());
+
+            cache.unpinAll();
+
+            assertEquals(40, cache.getUsedBytes());
+            assertEquals(List.of("floor"), evicted);
+        }
+
+        @Test
+        @DisplayName("Should keep assets pinned before and after a repin")
+        void shouldKeepSharedAssetsWhenRepinning() {
+            cache.setBudgetBytes(0);
+            cache.pinOnly(List.of("floor", "wall"));
+
+            cache.pinOnly(List.of("floor", "enemy", "chest"));
+
+            assertEquals(List.of("floor", "wall", "enemy", "chest"), loads);
+            assertEquals(List.of("wall"), evicted);
+            assertTrue(cache.isPinned("floor"));
+            assertTrue(cache.isPinned("enemy"));
+            assertFalse(cache.isPinned("chest"));
+        }
+
+        @Test
+        @DisplayName("Should evict after an asset grew")
+        void shouldEvictAfterGrowth() {
+            cache.get("floor");
+            cache.get("wall");
+            sizes.put("wall", 70L);
+
+            cache.updateSize("wall");
+
+            assertEquals(List.of("floor"), evicted);
+            assertEquals(70, cache.getUsedBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should size images at four bytes per pixel")
+    void shouldSizeImages() {
+        Image image = mock(Image.class);
+        when(image.getWidth()).thenReturn(16.0);
+        when(image.getHeight()).thenReturn(8.0);
+
+        assertEquals(512, AssetCache.imageBytes(image));
+        assertEquals(1024, AssetCache.imageBytes(new Image[] { image, null, image }));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AssetCache<String, String>(null, sizes::get, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AssetCache<String, String>(key -> key, sizes::get, -1));
+        assertThrows(IllegalArgumentException.class, () -> cache.setBudgetBytes(-1));
+    }
+}
@@ -0,0 +1,111 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+
+@DisplayName("Asset Loader Tests")
+class AssetLoaderTest {
+
+    private AssetLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new AssetLoader();
+    }
+
+    @Test
+    @DisplayName("Should be loaded when nothing was requested")
+    void shouldBeLoadedWhenEmpty() {
+        assertTrue(loader.isLoaded());
+        assertEquals(1.0, loader.progressProperty().get());
+        assertTrue(loader.whenLoaded().isDone());
+    }
+
+    @Test
+    @DisplayName("Should complete the future of a finished asset")
+    void shouldCompleteFinishedAsset() {
+        Image image = mock(Image.class);
+        CompletableFuture<Image> future = loader.register("floor");
+
+        loader.finish("floor", image);
+
+        assertSame(image, future.getNow(null));
+        assertSame(future, loader.get("floor"));
+    }
+
+    @Test
+    @DisplayName("Should report progress over all requested assets")
+    void shouldReportProgress() {
+        loader.register("floor");
+        loader.register("wall");
+        assertEquals(0.0, loader.progressProperty().get());
+
+        loader.finish("floor", mock(Image.class));
+
+        assertEquals(0.5, loader.progressProperty().get());
+        assertFalse(loader.isLoaded());
+        assertFalse(loader.whenLoaded().isDone());
+    }
+
+    @Test
+    @DisplayName("Should count failed assets as settled")
+    void shouldCountFailedAssets() {
+        loader.register("floor");
+        loader.register("wall");
+        CompletableFuture<Void> loaded = loader.whenLoaded();
+
+        loader.finish("floor", mock(Image.class));
+        loader.fail("wall", new IllegalStateException("missing"));
+
+        assertTrue(loader.isLoaded());
+        assertTrue(loaded.isDone());
+        assertFalse(loaded.isCompletedExceptionally());
+        assertTrue(loader.get("wall").isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should not count an asset twice")
+    void shouldNotCountTwice() {
+        loader.register("floor");
+        loader.register("wall");
+
+        loader.finish("floor", mock(Image.class));
+        loader.finish("floor", mock(Image.class));
+
+        assertEquals(0.5, loader.progressProperty().get());
+    }
+
+    @Test
+    @DisplayName("Should let a released asset be requested again")
+    void shouldReleaseAsset() {
+        loader.register("floor");
+        loader.register("wall");
+        loader.finish("floor", mock(Image.class));
+
+        loader.release("wall");
+        loader.finish("wall", mock(Image.class));
+
+        assertTrue(loader.isLoaded());
+        assertThrows(IllegalArgumentException.class, () -> loader.get("wall"));
+        assertFalse(loader.register("wall").isDone());
+        assertEquals(0.5, loader.progressProperty().get());
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate and unknown keys")
+    void shouldRejectDuplicateAndUnknownKeys() {
+        loader.register("floor");
+
+        assertThrows(IllegalArgumentException.class, () -> loader.register("floor"));
+        assertThrows(IllegalArgumentException.class, () -> loader.register(null));
+        assertThrows(IllegalArgumentException.class, () -> loader.get("wall"));
+    }
+}
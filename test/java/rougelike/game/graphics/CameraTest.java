@@ -0,0 +1,73 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Camera Tests")
+class CameraTest {
+
+    private Camera camera;
+
+    @BeforeEach
+    void setUp() {
+        camera = new Camera(512, 472);
+    }
+
+    @Test
+    @DisplayName("Should centre the viewport on the target")
+    void shouldCentreOnTarget() {
+        camera.follow(2000, 3000, 8192, 8192);
+
+        assertEquals(2000 - 256, camera.getX());
+        assertEquals(3000 - 236, camera.getY());
+    }
+
+    @Test
+    @DisplayName("Should stop at the edges of the world")
+    void shouldStopAtWorldEdges() {
+        camera.follow(10, 10, 8192, 8192);
+        assertEquals(0, camera.getX());
+        assertEquals(0, camera.getY());
+
+        camera.follow(8190, 8190, 8192, 8192);
+        assertEquals(8192 - 512, camera.getX());
+        assertEquals(8192 - 472, camera.getY());
+    }
+
+    @Test
+    @DisplayName("Should centre a world smaller than the viewport")
+    void shouldCentreSmallWorld() {
+        camera.follow(100, 100, 256, 256);
+
+        assertEquals(-128, camera.getX());
+        assertEquals(-108, camera.getY());
+    }
+
+    @Test
+    @DisplayName("Should report whether it moved")
+    void shouldReportMovement() {
+        assertTrue(camera.follow(2000, 2000, 8192, 8192));
+        assertFalse(camera.follow(2000.2, 2000.2, 8192, 8192));
+        assertTrue(camera.follow(2010, 2000, 8192, 8192));
+    }
+
+    @Test
+    @DisplayName("Should only see rectangles overlapping the viewport")
+    void shouldCullOutsideViewport() {
+        camera.follow(1000, 1000, 8192, 8192);
+
+        assertTrue(camera.isVisible(1000, 1000, 32, 32));
+        assertTrue(camera.isVisible(camera.getX() - 16, camera.getY(), 32, 32));
+        assertFalse(camera.isVisible(camera.getX() - 32, camera.getY(), 32, 32));
+        assertFalse(camera.isVisible(camera.getX() + 512, camera.getY(), 32, 32));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty viewport")
+    void shouldRejectEmptyViewport() {
+        assertThrows(IllegalArgumentException.class, () -> new Camera(0, 100));
+    }
+}
@@ -0,0 +1,100 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Dirty Region Tracker Tests")
+class DirtyRegionTrackerTest {
+
+    private DirtyRegionTracker tracker;
+    private final Object entity = new Object();
+
+    @BeforeEach
+    void setUp() {
+        tracker = new DirtyRegionTracker();
+    }
+
+    private void frame(Runnable reports) {
+        tracker.beginFrame();
+        reports.run();
+        tracker.endFrame();
+    }
+
+    @Test
+    @DisplayName("Should mark a new entity as dirty")
+    void shouldMarkNewEntityDirty() {
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, false));
+
+        assertEquals(1, tracker.getDirtyCount());
+        assertEquals(32 * 32, tracker.getDirtyArea());
+    }
+
+    @Test
+    @DisplayName("Should leave a still, static entity clean")
+    void shouldLeaveStillEntityClean() {
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, false));
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, false));
+
+        assertEquals(0, tracker.getDirtyCount());
+    }
+
+    @Test
+    @DisplayName("Should mark the old and new bounds of a moved entity")
+    void shouldMarkOldAndNewBounds() {
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, false));
+        frame(() -> tracker.track(entity, 100, 10, 32, 32, false));
+
+        assertEquals(2, tracker.getDirtyCount());
+        assertTrue(tracker.intersectsDirty(20, 20, 1, 1));
+        assertTrue(tracker.intersectsDirty(110, 20, 1, 1));
+        assertFalse(tracker.intersectsDirty(60, 20, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep animated entities dirty while they stand still")
+    void shouldKeepAnimatedEntitiesDirty() {
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, true));
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, true));
+
+        assertEquals(1, tracker.getDirtyCount());
+    }
+
+    @Test
+    @DisplayName("Should mark where a removed entity was drawn")
+    void shouldMarkRemovedEntity() {
+        frame(() -> tracker.track(entity, 10, 10, 32, 32, false));
+        frame(() -> { });
+
+        assertEquals(1, tracker.getDirtyCount());
+        assertTrue(tracker.intersectsDirty(20, 20, 1, 1));
+
+        frame(() -> { });
+        assertEquals(0, tracker.getDirtyCount());
+    }
+
+    @Test
+    @DisplayName("Should widen fractional bounds to whole pixels")
+    void shouldWidenToWholePixels() {
+        frame(() -> tracker.track(entity, 10.5, 10.5, 31, 31, false));
+
+        assertEquals(10, tracker.getDirtyX(0));
+        assertEquals(10, tracker.getDirtyY(0));
+        assertEquals(32, tracker.getDirtyWidth(0));
+        assertEquals(32, tracker.getDirtyHeight(0));
+    }
+
+    @Test
+    @DisplayName("Should grow beyond the initial capacity")
+    void shouldGrowBeyondInitialCapacity() {
+        frame(() -> {
+            for (int i = 0; i < 100; i++) {
+                tracker.track(new Object(), i * 40, 0, 32, 32, false);
+            }
+        });
+
+        assertEquals(100, tracker.getDirtyCount());
+    }
+}
@@ -0,0 +1,52 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+
+@DisplayName("Explosion Pool Tests")
+class ExplosionPoolTest {
+
+    private ExplosionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        Image[] frames = { mock(Image.class), mock(Image.class) };
+        pool = new ExplosionPool(1.0, frames, 0.2);
+    }
+
+    @Test
+    @DisplayName("Should reuse released explosions")
+    void shouldReuseReleasedExplosions() {
+        ExplosionAnimation first = pool.obtain(0, 0, 32, 32);
+        pool.release(first);
+
+        assertEquals(1, pool.getFreeCount());
+        assertSame(first, pool.obtain(64, 64, 32, 32));
+        assertEquals(0, pool.getFreeCount());
+    }
+
+    @Test
+    @DisplayName("Should restart a reused explosion")
+    void shouldRestartReusedExplosion() {
+        ExplosionAnimation explosion = pool.obtain(0, 0, 32, 32);
+        explosion.update(2.0);
+        assertFalse(explosion.isActive());
+        pool.release(explosion);
+
+        ExplosionAnimation reused = pool.obtain(10, 10, 32, 32);
+
+        assertTrue(reused.isActive());
+    }
+
+    @Test
+    @DisplayName("Should create new explosions when none are free")
+    void shouldCreateWhenEmpty() {
+        assertNotSame(pool.obtain(0, 0, 32, 32), pool.obtain(0, 0, 32, 32));
+    }
+}
@@ -0,0 +1,109 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import rougelike.game.entities.Entity;
+
+@DisplayName("Render Queue Tests")
+class RenderQueueTest {
+
+    private RenderQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new RenderQueue();
+    }
+
+    private Entity createMockEntity(double y, Image image) {
+        return new Entity(0, y, 32, 32, image) {
+            @Override
+            public void render(GraphicsContext gc) {
+                // Mock implementation
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should draw lower layers first")
+    void shouldSortByLayer() {
+        Entity actor = createMockEntity(0, null);
+        Entity ground = createMockEntity(100, null);
+        queue.add(actor, RenderQueue.LAYER_ACTORS, 0, 0);
+        queue.add(ground, RenderQueue.LAYER_GROUND, 100, 0);
+
+        queue.sort();
+
+        assertSame(ground, queue.get(0));
+        assertSame(actor, queue.get(1));
+    }
+
+    @Test
+    @DisplayName("Should draw entities higher on screen first within a layer")
+    void shouldSortByDepth() {
+        Entity front = createMockEntity(200, null);
+        Entity back = createMockEntity(50, null);
+        Entity above = createMockEntity(-300, null);
+        queue.add(front);
+        queue.add(back);
+        queue.add(above);
+
+        queue.sort();
+
+        assertSame(above, queue.get(0));
+        assertSame(back, queue.get(1));
+        assertSame(front, queue.get(2));
+    }
+
+    @Test
+    @DisplayName("Should group equal depths by texture")
+    void shouldSortByTexture() {
+        Image first = mock(Image.class);
+        Image second = mock(Image.class);
+        Entity a = createMockEntity(0, first);
+        Entity b = createMockEntity(0, second);
+        Entity c = createMockEntity(0, first);
+        queue.add(a);
+        queue.add(b);
+        queue.add(c);
+
+        queue.sort();
+
+        assertSame(a, queue.get(0));
+        assertSame(c, queue.get(1));
+        assertSame(b, queue.get(2));
+    }
+
+    @Test
+    @DisplayName("Should keep submission order for equal keys")
+    void shouldKeepSubmissionOrder() {
+        Entity first = createMockEntity(10, null);
+        Entity second = createMockEntity(10, null);
+        queue.add(first);
+        queue.add(second);
+
+        queue.sort();
+
+        assertSame(first, queue.get(0));
+        assertSame(second, queue.get(1));
+    }
+
+    @Test
+    @DisplayName("Should grow past its initial capacity and empty on flush")
+    void shouldGrowAndEmptyOnFlush() {
+        for (int i = 0; i < 200; i++) {
+            queue.add(createMockEntity(200 - i, null));
+        }
+        assertEquals(200, queue.size());
+
+        queue.flush(mock(GraphicsContext.class));
+
+        assertEquals(0, queue.size());
+    }
+}
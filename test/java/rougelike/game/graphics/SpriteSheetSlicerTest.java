@@ -0,0 +1,61 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+
+@DisplayName("Sprite Sheet Slicer Tests")
+class SpriteSheetSlicerTest {
+
+    private static Image sheet(double width, double height) {
+        Image image = mock(Image.class);
+        when(image.getWidth()).thenReturn(width);
+        when(image.getHeight()).thenReturn(height);
+        when(image.getPixelReader()).thenReturn(mock(PixelReader.class));
+        return image;
+    }
+
+    @Test
+    @DisplayName("Should reject a null sheet")
+    void shouldRejectNullSheet() {
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(null, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive grid")
+    void shouldRejectNonPositiveGrid() {
+        Image image = sheet(800, 600);
+
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(image, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(image, 6, -1));
+    }
+
+    @Test
+    @DisplayName("Should reject a sheet without pixels")
+    void shouldRejectUnreadableSheet() {
+        Image image = sheet(800, 600);
+        when(image.getPixelReader()).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(image, 6, 8));
+    }
+
+    @Test
+    @DisplayName("Should reject a grid finer than the sheet")
+    void shouldRejectGridFinerThanSheet() {
+        Image image = sheet(4, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(image, 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.slice(image, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a null path")
+    void shouldRejectNullPath() {
+        assertThrows(IllegalArgumentException.class, () -> SpriteSheetSlicer.load(null, 1, 1));
+    }
+}
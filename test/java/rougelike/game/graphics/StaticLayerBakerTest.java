@@ -0,0 +1,140 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Static Layer Baker Tests")
+class StaticLayerBakerTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int RED = 0xFFFF0000;
+    private static final int GREEN = 0xFF00FF00;
+    private static final int BLUE = 0xFF0000FF;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    private static int[] layer(int width, int height, int argb) {
+        int[] layer = new int[width * height];
+        Arrays.fill(layer, argb);
+        return layer;
+    }
+
+    @Nested
+    @DisplayName("Scaling Tests")
+    class ScalingTests {
+
+        @Test
+        @DisplayName("Should repeat every source pixel when scaling up twice")
+        void shouldUpscaleTwice() {
+            int[] source = { RED, GREEN, BLUE, WHITE };
+            int[] layer = layer(4, 4, BLACK);
+
+            StaticLayerBaker.drawScaled(layer, 4, 4, source, 2, 2, 0, 0, 4, 4);
+
+            assertArrayEquals(new int[] {
+                RED, RED, GREEN, GREEN,
+                RED, RED, GREEN, GREEN,
+                BLUE, BLUE, WHITE, WHITE,
+                BLUE, BLUE, WHITE, WHITE
+            }, layer);
+        }
+
+        @Test
+        @DisplayName("Should copy a source of the tile size unchanged")
+        void shouldCopyAtSameSize() {
+            int[] source = { RED, GREEN, BLUE, WHITE };
+            int[] layer = layer(3, 2, BLACK);
+
+            StaticLayerBaker.drawScaled(layer, 3, 2, source, 2, 2, 1, 0, 2, 2);
+
+            assertArrayEquals(new int[] {
+                BLACK, RED, GREEN,
+                BLACK, BLUE, WHITE
+            }, layer);
+        }
+    }
+
+    @Nested
+    @DisplayName("Clipping Tests")
+    class ClippingTests {
+
+        @Test
+        @DisplayName("Should clip a tile starting above and left of the layer")
+        void shouldClipNegativeOffsets() {
+            int[] source = { RED, GREEN, BLUE, WHITE };
+            int[] layer = layer(2, 2, BLACK);
+
+            StaticLayerBaker.drawScaled(layer, 2, 2, source, 2, 2, -1, -1, 2, 2);
+
+            assertArrayEquals(new int[] {
+                WHITE, BLACK,
+                BLACK, BLACK
+            }, layer);
+        }
+
+        @Test
+        @DisplayName("Should clip a tile reaching past the right and bottom edges")
+        void shouldClipOversizedTiles() {
+            int[] source = { RED, GREEN, BLUE, WHITE };
+            int[] layer = layer(3, 3, BLACK);
+
+            StaticLayerBaker.drawScaled(layer, 3, 3, source, 2, 2, 1, 1, 4, 4);
+
+            assertArrayEquals(new int[] {
+                BLACK, BLACK, BLACK,
+                BLACK, RED, RED,
+                BLACK, RED, RED
+            }, layer);
+        }
+
+        @Test
+        @DisplayName("Should leave the layer untouched for a tile outside it")
+        void shouldSkipTilesOutsideLayer() {
+            int[] layer = layer(2, 2, BLACK);
+
+            StaticLayerBaker.drawScaled(layer, 2, 2, new int[] { RED }, 1, 1, 5, -7, 2, 2);
+
+            assertArrayEquals(layer(2, 2, BLACK), layer);
+        }
+    }
+
+    @Nested
+    @DisplayName("Blending Tests")
+    class BlendingTests {
+
+        @Test
+        @DisplayName("Should keep the layer below fully transparent pixels")
+        void shouldSkipTransparentPixels() {
+            int[] layer = layer(1, 1, BLUE);
+
+            StaticLayerBaker.drawScaled(layer, 1, 1, new int[] { 0x00FF0000 }, 1, 1, 0, 0, 1, 1);
+
+            assertEquals(BLUE, layer[0]);
+        }
+
+        @Test
+        @DisplayName("Should blend half transparent pixels over the layer")
+        void shouldBlendTranslucentPixels() {
+            int[] layer = layer(1, 1, BLUE);
+
+            StaticLayerBaker.drawScaled(layer, 1, 1, new int[] { 0x80FF0000 }, 1, 1, 0, 0, 1, 1);
+
+            // 0x80 of red over 0x7F of blue, the result stays opaque
+            assertEquals(0xFF80007F, layer[0]);
+        }
+
+        @Test
+        @DisplayName("Should replace the layer with opaque pixels")
+        void shouldReplaceWithOpaquePixels() {
+            int[] layer = layer(1, 1, BLUE);
+
+            StaticLayerBaker.drawScaled(layer, 1, 1, new int[] { RED }, 1, 1, 0, 0, 1, 1);
+
+            assertEquals(RED, layer[0]);
+        }
+    }
+}
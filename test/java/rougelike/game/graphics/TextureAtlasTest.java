@@ -0,0 +1,107 @@
+package rougelike.game.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Texture Atlas Tests")
+class TextureAtlasTest {
+
+    private static boolean overlap(int[] placements, int[] widths, int[] heights, int a, int b) {
+        if (placements[a * 3] != placements[b * 3]) {
+            return false;
+        }
+        int ax = placements[a * 3 + 1];
+        int ay = placements[a * 3 + 2];
+        int bx = placements[b * 3 + 1];
+        int by = placements[b * 3 + 2];
+        return ax < bx + widths[b] && bx < ax + widths[a] && ay < by + heights[b] && by < ay + heights[a];
+    }
+
+    @Test
+    @DisplayName("Should place boxes side by side on one shelf")
+    void shouldPlaceBoxesOnOneShelf() {
+        int[] widths = { 18, 18, 18 };
+        int[] heights = { 18, 18, 18 };
+
+        int[] placements = TextureAtlas.layout(widths, heights, 64);
+
+        for (int i = 0; i < widths.length; i++) {
+            assertEquals(0, placements[i * 3]);
+            assertEquals(0, placements[i * 3 + 2]);
+        }
+        assertEquals(0, placements[1]);
+        assertEquals(18, placements[4]);
+        assertEquals(36, placements[7]);
+    }
+
+    @Test
+    @DisplayName("Should start a new shelf when a row is full")
+    void shouldStartNewShelf() {
+        int[] widths = { 40, 40 };
+        int[] heights = { 20, 10 };
+
+        int[] placements = TextureAtlas.layout(widths, heights, 64);
+
+        assertArrayEquals(new int[] { 0, 0, 0, 0, 0, 20 }, placements);
+    }
+
+    @Test
+    @DisplayName("Should start a new page when a page is full")
+    void shouldStartNewPage() {
+        int[] widths = { 64, 64, 64 };
+        int[] heights = { 40, 40, 40 };
+
+        int[] placements = TextureAtlas.layout(widths, heights, 64);
+
+        assertEquals(0, placements[0]);
+        assertEquals(1, placements[3]);
+        assertEquals(2, placements[6]);
+    }
+
+    @Test
+    @DisplayName("Should never overlap boxes or leave the page")
+    void shouldNotOverlapBoxes() {
+        int[] widths = { 18, 34, 10, 18, 18, 66, 5, 18, 34, 18 };
+        int[] heights = { 18, 34, 12, 26, 18, 20, 5, 30, 18, 18 };
+        int pageSize = 80;
+
+        int[] placements = TextureAtlas.layout(widths, heights, pageSize);
+
+        for (int a = 0; a < widths.length; a++) {
+            assertTrue(placements[a * 3 + 1] + widths[a] <= pageSize);
+            assertTrue(placements[a * 3 + 2] + heights[a] <= pageSize);
+            for (int b = a + 1; b < widths.length; b++) {
+                assertFalse(overlap(placements, widths, heights, a, b), "boxes " + a + " and " + b + " overlap");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip null images when packing")
+    void shouldSkipNullImages() {
+        TextureAtlas atlas = TextureAtlas.pack(Arrays.asList(null, null), 64);
+
+        assertEquals(0, atlas.size());
+        assertTrue(atlas.getPages().isEmpty());
+        assertNull(atlas.getRegion(null));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive page size")
+    void shouldRejectInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> TextureAtlas.pack(List.of(), 0));
+    }
+
+    @Test
+    @DisplayName("Should find no region without an installed atlas")
+    void shouldFindNoRegionWithoutAtlas() {
+        TextureAtlas.install(null);
+
+        assertNull(TextureAtlas.regionOf(null));
+    }
+}
@@ -347,7 +347,7 @@ public class MockFactory {
     
     public static void configureMockEnemyForMovement(Enemy mockEnemy) {
         doAnswer(invocation -> {
-            long timeElapsed = invocation.getArgument(0);
+            double timeElapsed = invocation.getArgument(0);
             double playerX = invocation.getArgument(1);
             double playerY = invocation.getArgument(2);
             
@@ -368,7 +368,7 @@ public class MockFactory {
             }
             
             return null;
-        }).when(mockEnemy).move(anyLong(), anyDouble(), anyDouble());
+        }).when(mockEnemy).move(anyDouble(), anyDouble(), anyDouble());
     }
     
     private MockFactory() {